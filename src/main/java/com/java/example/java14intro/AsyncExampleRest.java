@@ -0,0 +1,38 @@
+package com.java.example.java14intro;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * the same api as ExampleRest for the async profile:
+ * the Tomcat thread is released as soon as the handler is submitted
+ * and the response is completed from a separate executor (servlet async processing)
+ */
+@Profile("async")
+@RestController
+public class AsyncExampleRest {
+
+    private final ExecutorService executor;
+
+    public AsyncExampleRest(@Value("${example.rest.async.threads}") int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @GetMapping("/test")
+    public CompletableFuture<String> test() {
+        return CompletableFuture.supplyAsync(ExampleRest::test, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.java.example.java14intro;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * batched and coalesced variants of ExampleRest for clients that call GET /test in tight loops:
+ * POST /test/batch takes one logical request per line (e.g. /test) and streams one result per line back, in order;
+ * identical requests that run at the same time, or within example.rest.coalescing.window of each other,
+ * run the handler once, in a batch and across concurrent calls
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+public class BatchExampleRest {
+
+    static final String NOT_FOUND = "ERROR not found";
+
+    private final RequestCoalescer<String, String> coalescer;
+
+    public BatchExampleRest(@Value("${example.rest.coalescing.window}") Duration window) {
+        this.coalescer = new RequestCoalescer<>(window);
+    }
+
+    @GetMapping("/test/coalesced")
+    public String test() {
+        return coalescer.get("/test", ExampleRest::test);
+    }
+
+    @PostMapping(value = "/test/batch", consumes = "text/plain", produces = "text/plain; charset=utf-8")
+    public StreamingResponseBody batch(@RequestBody String requests) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            int lineStart = 0;
+            while (lineStart < requests.length()) {
+                int lineEnd = requests.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = requests.length();
+                }
+                String request = requests.substring(lineStart, lineEnd).strip();
+                if (!request.isEmpty()) {
+                    writer.write(handle(request));
+                    writer.write('\n');
+                }
+                lineStart = lineEnd + 1;
+            }
+            writer.flush();
+        };
+    }
+
+    private String handle(String request) {
+        return switch (request) {
+            case "/test" -> test();
+            default -> NOT_FOUND;
+        };
+    }
+
+    RequestCoalescer<String, String> coalescer() {
+        return coalescer;
+    }
+}
@@ -0,0 +1,261 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Batch ingestion of records with compact-constructor invariants (see Person).
+ * A compact constructor can only reject a value with an exception, and filling in the stack trace
+ * of an exception for every invalid row costs more than constructing a valid record.
+ * Here the invariants are declared as rules that are checked on the raw component values before construction:
+ * invalid rows are collected as (row, rule) pairs in int arrays and only valid rows are constructed.
+ * Rows are given in the order of the canonical constructor parameters.
+ * Large batches are split into chunks that are validated in parallel on a ForkJoinPool.
+ */
+final class BulkValidator<R extends Record> {
+
+    private static final int CHUNK = 4096;
+
+    private final Class<R> type;
+    private final RecordMetadata metadata;
+    private final Rule[] rules;
+
+    private BulkValidator(Class<R> type, List<Rule> rules) {
+        this.type = type;
+        this.metadata = RecordMetadata.of(type);
+        this.rules = rules.toArray(new Rule[0]);
+    }
+
+    public static <R extends Record> Builder<R> builder(Class<R> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * Index of the rule of rows that passed all rules, but were still rejected by the canonical constructor.
+     */
+    public int constructorRule() {
+        return rules.length;
+    }
+
+    public String message(int rule) {
+        return rule == rules.length ? "rejected by the canonical constructor" : rules[rule].message;
+    }
+
+    public Result<R> validate(List<Object[]> rows) {
+        Result<R> result = new Result<>(this, rows.size());
+        result.violations = new Chunk(this, rows, result.records, 0, rows.size()).compute();
+        return result;
+    }
+
+    public Result<R> validateParallel(List<Object[]> rows) {
+        return validateParallel(rows, ForkJoinPool.commonPool());
+    }
+
+    public Result<R> validateParallel(List<Object[]> rows, ForkJoinPool pool) {
+        Result<R> result = new Result<>(this, rows.size());
+        result.violations = pool.invoke(new Chunk(this, rows, result.records, 0, rows.size()));
+        return result;
+    }
+
+    /**
+     * Checks one row and constructs the record when it is valid, returns null for invalid rows.
+     */
+    private Object check(int row, Object[] values, Violations violations) {
+        boolean valid = true;
+        for (int rule = 0; rule < rules.length; rule++) {
+            if (!rules[rule].test(values)) {
+                violations.add(row, rule);
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return null;
+        }
+        try {
+            return metadata.newInstance(values);
+        } catch (RuntimeException e) {
+            violations.add(row, rules.length);
+            return null;
+        }
+    }
+
+    private static final class Chunk extends RecursiveTask<Violations> {
+        private final BulkValidator<?> validator;
+        private final List<Object[]> rows;
+        private final Object[] records;
+        private final int from;
+        private final int to;
+
+        Chunk(BulkValidator<?> validator, List<Object[]> rows, Object[] records, int from, int to) {
+            this.validator = validator;
+            this.rows = rows;
+            this.records = records;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Violations compute() {
+            if (to - from <= CHUNK) {
+                Violations violations = new Violations();
+                for (int row = from; row < to; row++) {
+                    records[row] = validator.check(row, rows.get(row), violations);
+                }
+                return violations;
+            }
+            int middle = (from + to) >>> 1;
+            Chunk right = new Chunk(validator, rows, records, middle, to);
+            right.fork();
+            Violations left = new Chunk(validator, rows, records, from, middle).compute();
+            return left.append(right.join());
+        }
+    }
+
+    /**
+     * (row, rule) pairs in row order.
+     */
+    private static final class Violations {
+        private int[] rows = new int[16];
+        private int[] rules = new int[16];
+        private int size;
+
+        void add(int row, int rule) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                rules = Arrays.copyOf(rules, size * 2);
+            }
+            rows[size] = row;
+            rules[size] = rule;
+            size++;
+        }
+
+        Violations append(Violations next) {
+            if (next.size == 0) {
+                return this;
+            }
+            if (size == 0) {
+                return next;
+            }
+            rows = Arrays.copyOf(rows, size + next.size);
+            rules = Arrays.copyOf(rules, size + next.size);
+            System.arraycopy(next.rows, 0, rows, size, next.size);
+            System.arraycopy(next.rules, 0, rules, size, next.size);
+            size += next.size;
+            return this;
+        }
+    }
+
+    /**
+     * Constructed records by row (null for invalid rows) and the violations of the batch.
+     */
+    static final class Result<R extends Record> {
+        private final BulkValidator<R> validator;
+        private final Object[] records;
+        private Violations violations;
+
+        private Result(BulkValidator<R> validator, int rows) {
+            this.validator = validator;
+            this.records = new Object[rows];
+        }
+
+        public boolean isValid(int row) {
+            return records[row] != null;
+        }
+
+        public R record(int row) {
+            return validator.type.cast(records[row]);
+        }
+
+        /**
+         * Valid records in row order.
+         */
+        public List<R> records() {
+            List<R> valid = new ArrayList<>();
+            for (Object record : records) {
+                if (record != null) {
+                    valid.add(validator.type.cast(record));
+                }
+            }
+            return valid;
+        }
+
+        public int violationCount() {
+            return violations.size;
+        }
+
+        public int violationRow(int violation) {
+            return violations.rows[violation];
+        }
+
+        public int violationRule(int violation) {
+            return violations.rules[violation];
+        }
+
+        public String violationMessage(int violation) {
+            return validator.message(violations.rules[violation]);
+        }
+    }
+
+    private static final class Rule {
+        private final String message;
+        private final Predicate<Object[]> predicate;
+
+        Rule(String message, Predicate<Object[]> predicate) {
+            this.message = message;
+            this.predicate = predicate;
+        }
+
+        /**
+         * A rule that fails on an unexpected value, e.g. of a wrong type, rejects the row.
+         */
+        boolean test(Object[] values) {
+            try {
+                return predicate.test(values);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    static final class Builder<R extends Record> {
+        private final Class<R> type;
+        private final RecordMetadata metadata;
+        private final List<Rule> rules = new ArrayList<>();
+
+        private Builder(Class<R> type) {
+            this.type = type;
+            this.metadata = RecordMetadata.of(type);
+        }
+
+        /**
+         * Rule over one component, the predicate gets the raw value, which can be null.
+         * Values of primitive components are boxed, use the wrapper type, e.g. Integer for int.
+         */
+        public <T> Builder<R> check(String component, Class<T> componentType, Predicate<? super T> rule, String message) {
+            int index = metadata.indexOf(component);
+            Class<?> declared = MethodType.methodType(metadata.componentType(index)).wrap().returnType();
+            if (!componentType.isAssignableFrom(declared) && !declared.isAssignableFrom(componentType)) {
+                throw new IllegalArgumentException(component + " of " + type.getName() + " is " + declared.getName());
+            }
+            rules.add(new Rule(message, values -> rule.test(componentType.cast(values[index]))));
+            return this;
+        }
+
+        /**
+         * Rule over several components, values are in the order of the canonical constructor parameters.
+         */
+        public Builder<R> check(Predicate<Object[]> rule, String message) {
+            rules.add(new Rule(message, rule));
+            return this;
+        }
+
+        public BulkValidator<R> build() {
+            return new BulkValidator<>(type, rules);
+        }
+    }
+}
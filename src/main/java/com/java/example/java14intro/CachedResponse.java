@@ -0,0 +1,24 @@
+package com.java.example.java14intro;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an idempotent GET handler with a fixed path, like ExampleRest.test, whose response is cached
+ * by ResponseCacheFilter: the handler runs once per time to live and later requests get the encoded bytes.
+ * Only the status 200, content type and body are cached, the handler must return String or byte[]
+ * and declare exactly one produced media type, e.g. @GetMapping(value = "/test", produces = "text/plain;charset=UTF-8").
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@interface CachedResponse {
+
+    /**
+     * Time to live of the cached response in seconds, by default example.rest.cache.ttl.
+     */
+    long ttlSeconds() default -1;
+}
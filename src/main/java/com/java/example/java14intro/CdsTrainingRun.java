@@ -0,0 +1,38 @@
+package com.java.example.java14intro;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * training run of the appcds maven profile: as soon as the app is ready
+ * it sends one request to GET /test, so the classes of the first request are archived too,
+ * and exits, the jvm then writes the class data sharing archive (-XX:ArchiveClassesAtExit)
+ */
+@Component
+@ConditionalOnProperty("example.cds.training-run")
+class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port");
+        try {
+            HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/test")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new IllegalStateException("training request failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.java.example.java14intro;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Business subscription prices of SwitchExpressions, loaded from cellular-operators.txt instead of being compiled in.
+ * The file has the arms of one switch only, so a label means the same as in the compiled switch.
+ * The table is replaced as a whole on reload and published through a volatile field,
+ * so lookups never lock and always see either the old or the new table.
+ */
+final class CellularOperators {
+
+    static final String RESOURCE = "/cellular-operators.txt";
+
+    private static volatile StringSwitch<String> prices = load();
+
+    private CellularOperators() {
+    }
+
+    public static String businessPrice(String cellularOperator) {
+        return prices.get(cellularOperator);
+    }
+
+    /**
+     * Replaces the table with the arms read from the given file.
+     * If the file is not valid, the current table stays in place and the exception is thrown.
+     */
+    public static void reload(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reload(reader);
+        }
+    }
+
+    public static void reload(Reader reader) throws IOException {
+        prices = StringSwitch.parse(reader, Function.identity());
+    }
+
+    private static StringSwitch<String> load() {
+        try (InputStream in = CellularOperators.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found");
+            }
+            return StringSwitch.parse(new InputStreamReader(in, StandardCharsets.UTF_8), Function.identity());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.java.example.java14intro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact encoding of short, repetitive strings for record components declared as long,
+ * e.g. CompactRecordExample(long name, long shape) instead of RecordExample(String name, String shape).
+ * A String costs a String object and a byte array per value (48 bytes for 6 Latin-1 chars),
+ * a code is 8 bytes in the record itself:
+ *
+ *     0                          null
+ *     tag 0x01-0x08, 7 bytes     up to 7 Latin-1 chars inline, the tag is the length + 1
+ *     sign bit set, 63 bits      id of a longer or non Latin-1 string in the shared dictionary
+ *
+ * Equal strings always get equal codes: a string is inlined exactly when it fits, and the dictionary
+ * gives every string one id. So the equals() and hashCode() generated for the record compare the codes
+ * and never decode. Codes do not keep the order of the strings.
+ *
+ * The dictionary is shared by all records and only grows, ids stay valid for the life of the JVM:
+ * use it for values from a bounded vocabulary such as names and shapes, not for free text.
+ * Lookups of known strings do not lock, new strings are registered under a lock.
+ */
+final class CompactStrings {
+
+    static final int MAX_INLINE_LENGTH = 7;
+    static final long NULL = 0;
+
+    private static final long DICTIONARY = Long.MIN_VALUE;
+
+    private static final ConcurrentHashMap<String, Long> ids = new ConcurrentHashMap<>();
+    private static final Object lock = new Object();
+    private static volatile String[] strings = new String[1024];
+    private static int size;
+
+    private CompactStrings() {
+    }
+
+    public static long encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        long inline = inline(value);
+        if (inline != NULL) {
+            return inline;
+        }
+        Long id = ids.get(value);
+        return DICTIONARY | (id != null ? id : register(value));
+    }
+
+    public static String decode(long code) {
+        if (code == NULL) {
+            return null;
+        }
+        if (isInline(code)) {
+            int length = (int) (code >>> 56) - 1;
+            byte[] latin1 = new byte[length];
+            for (int i = 0; i < length; i++) {
+                latin1[i] = (byte) (code >>> (i << 3));
+            }
+            return new String(latin1, StandardCharsets.ISO_8859_1);
+        }
+        return strings[(int) (code & ~DICTIONARY)];
+    }
+
+    /**
+     * True for the codes encode() can return: NULL, an inline code with a tag of 1 to 8 and zero bytes
+     * after the last char, or the id of a string registered in the dictionary.
+     */
+    public static boolean isValid(long code) {
+        if (code == NULL) {
+            return true;
+        }
+        if (isInline(code)) {
+            int length = (int) (code >>> 56) - 1;
+            return length >= 0 && length <= MAX_INLINE_LENGTH && (code & 0x00FF_FFFF_FFFF_FFFFL) >>> (length << 3) == 0;
+        }
+        long id = code & ~DICTIONARY;
+        String[] current = strings;
+        return id < current.length && current[(int) id] != null;
+    }
+
+    /**
+     * Rejects codes that were not returned by encode(), for the constructors of records with code components.
+     */
+    public static long check(long code) {
+        if (!isValid(code)) {
+            throw new IllegalArgumentException("not a compact string code: 0x" + Long.toHexString(code));
+        }
+        return code;
+    }
+
+    public static boolean isInline(long code) {
+        return code > 0;
+    }
+
+    /**
+     * Length of the string without decoding it, -1 for null.
+     */
+    public static int length(long code) {
+        if (code == NULL) {
+            return -1;
+        }
+        return isInline(code) ? (int) (code >>> 56) - 1 : strings[(int) (code & ~DICTIONARY)].length();
+    }
+
+    /**
+     * Number of strings in the shared dictionary.
+     */
+    public static int dictionarySize() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private static long inline(String value) {
+        int length = value.length();
+        if (length > MAX_INLINE_LENGTH) {
+            return NULL;
+        }
+        long code = (long) (length + 1) << 56;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c > 0xFF) {
+                return NULL;
+            }
+            code |= (long) c << (i << 3);
+        }
+        return code;
+    }
+
+    private static long register(String value) {
+        synchronized (lock) {
+            Long id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            String[] current = strings;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                strings = current;
+            }
+            // the string is stored before its id is published by the map,
+            // so a thread that sees the id also sees the string
+            current[size] = value;
+            ids.put(value, (long) size);
+            return size++;
+        }
+    }
+}
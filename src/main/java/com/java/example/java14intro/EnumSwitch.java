@@ -0,0 +1,209 @@
+package com.java.example.java14intro;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runtime equivalent of an arrow-form enum switch expression (see SwitchExpressions.printNameAssociatedWithId):
+ *
+ *     case ONE, TWO -> value;
+ *
+ * javac compiles such a switch to a lookup in a synthetic $SwitchMap array indexed by ordinal(),
+ * followed by a tableswitch. Here the values themselves are kept in an array indexed by ordinal(),
+ * so a lookup is one array read. Arms can be loaded from configuration with parse(Class, Reader, Function):
+ *
+ *     ONE, TWO -> Tomas
+ *     default -> Peter
+ *
+ * Like the compiler, the table rejects duplicate labels, and without a default arm it must cover every constant:
+ * the check runs when the table is built, as there is no compiler to run it for a loaded table.
+ * A table is immutable and can be shared between threads, Ref replaces it atomically on reload.
+ */
+final class EnumSwitch<E extends Enum<E>, V> {
+
+    private static final String ARROW = "->";
+    private static final String DEFAULT = "default";
+
+    private final Class<E> type;
+    private final Object[] values;
+
+    private EnumSwitch(Class<E> type, Object[] values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    /**
+     * Builds a table without a default arm, the cases must cover every constant of the type.
+     */
+    public static <E extends Enum<E>, V> EnumSwitch<E, V> of(Class<E> type, Map<E, ? extends V> cases) {
+        E[] constants = type.getEnumConstants();
+        List<E> missing = new ArrayList<>();
+        for (E constant : constants) {
+            if (!cases.containsKey(constant)) {
+                missing.add(constant);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("the switch does not cover all possible input values of "
+                    + type.getName() + ", missing " + missing);
+        }
+        return build(type, cases, null);
+    }
+
+    /**
+     * Builds a table with a default arm, defaultValue is returned for constants without a case.
+     */
+    public static <E extends Enum<E>, V> EnumSwitch<E, V> of(Class<E> type, Map<E, ? extends V> cases, V defaultValue) {
+        return build(type, cases, defaultValue);
+    }
+
+    /**
+     * Parses arms in the "CONSTANT, CONSTANT -> value" form. The "default" arm is optional,
+     * without it the arms must cover every constant. Empty lines and lines starting with # are skipped.
+     */
+    public static <E extends Enum<E>, V> EnumSwitch<E, V> parse(Class<E> type, Reader reader,
+                                                               Function<String, V> valueParser) throws IOException {
+        Map<E, V> cases = new EnumMap<>(type);
+        V defaultValue = null;
+        boolean hasDefault = false;
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int arrow = line.indexOf(ARROW);
+            if (arrow < 0) {
+                throw new IllegalArgumentException("line " + lineNumber + ": '" + ARROW + "' expected");
+            }
+            V value = valueParser.apply(line.substring(arrow + ARROW.length()).strip());
+            String labels = line.substring(0, arrow).strip();
+            if (labels.equals(DEFAULT)) {
+                if (hasDefault) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": duplicate default label");
+                }
+                hasDefault = true;
+                defaultValue = value;
+                continue;
+            }
+            for (String label : labels.split(",", -1)) {
+                E constant = constant(type, label.strip(), lineNumber);
+                if (cases.putIfAbsent(constant, value) != null) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": duplicate case label " + constant);
+                }
+            }
+        }
+        return hasDefault ? of(type, cases, defaultValue) : of(type, cases);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(E constant) {
+        return (V) values[constant.ordinal()];
+    }
+
+    public Class<E> type() {
+        return type;
+    }
+
+    /**
+     * The value of every constant, the default value included.
+     */
+    @SuppressWarnings("unchecked")
+    public EnumMap<E, V> toMap() {
+        EnumMap<E, V> map = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            map.put(constant, (V) values[constant.ordinal()]);
+        }
+        return map;
+    }
+
+    private static <E extends Enum<E>, V> EnumSwitch<E, V> build(Class<E> type, Map<E, ? extends V> cases,
+                                                                V defaultValue) {
+        for (E label : cases.keySet()) {
+            if (label.getDeclaringClass() != type) {
+                throw new IllegalArgumentException(label + " is not a constant of " + type.getName());
+            }
+        }
+        E[] constants = type.getEnumConstants();
+        Object[] values = new Object[constants.length];
+        for (E constant : constants) {
+            values[constant.ordinal()] = cases.containsKey(constant) ? cases.get(constant) : defaultValue;
+        }
+        return new EnumSwitch<>(type, values);
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String label, int lineNumber) {
+        if (label.isEmpty()) {
+            throw new IllegalArgumentException("line " + lineNumber + ": empty case label");
+        }
+        try {
+            return Enum.valueOf(type, label);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": " + label
+                    + " is not a constant of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Holder of the current table of one enum type, for tables that are reloaded at runtime.
+     * The table is replaced as a whole with a volatile write, lookups never lock
+     * and see either the old or the new table.
+     */
+    static final class Ref<E extends Enum<E>, V> {
+
+        private static final VarHandle TABLE;
+
+        static {
+            try {
+                TABLE = MethodHandles.lookup().findVarHandle(Ref.class, "table", EnumSwitch.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile EnumSwitch<E, V> table;
+
+        Ref(EnumSwitch<E, V> table) {
+            this.table = table;
+        }
+
+        public V get(E constant) {
+            return table.get(constant);
+        }
+
+        public EnumSwitch<E, V> table() {
+            return table;
+        }
+
+        /**
+         * Replaces the table and returns the previous one.
+         */
+        @SuppressWarnings("unchecked")
+        public EnumSwitch<E, V> swap(EnumSwitch<E, V> next) {
+            if (next.type != table.type) {
+                throw new IllegalArgumentException("table of " + next.type.getName()
+                        + " cannot replace a table of " + table.type.getName());
+            }
+            return (EnumSwitch<E, V>) TABLE.getAndSet(this, next);
+        }
+
+        /**
+         * Replaces the table with the arms read from the reader.
+         * If the arms are not valid, the current table stays in place and the exception is thrown.
+         */
+        public EnumSwitch<E, V> reload(Reader reader, Function<String, V> valueParser) throws IOException {
+            return swap(parse(table.type, reader, valueParser));
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.java.example.java14intro;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * rest controller with one example rest api
+ * rest controller with one example rest api,
+ * served by the Tomcat thread pool or, with the reactive profile, by Reactor Netty;
+ * in the servlet stack the response of /test is cached by ResponseCacheFilter
  */
+@Profile("!async")
 @RestController
 public class ExampleRest {
 
-    @GetMapping("/test")
+    @CachedResponse
+    @GetMapping(value = "/test", produces = "text/plain;charset=UTF-8")
     public static String test() {
         return "it works!";
     }
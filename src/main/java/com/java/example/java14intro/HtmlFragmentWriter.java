@@ -0,0 +1,245 @@
+package com.java.example.java14intro;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Streams HTML made of constant fragments and dynamic values into a channel.
+ * Fragments are encoded to UTF-8 once, when they are created, values are encoded into a fixed scratch buffer.
+ * Both are collected into an array of buffers and written with one gathering write,
+ * so the page is never built as a String and the memory used by a writer does not depend on the page size.
+ * For an OutputStream (e.g. a servlet response) use Channels.newChannel(outputStream).
+ * A writer is not thread-safe, fragments can be shared by all writers.
+ * The channel is expected to be blocking.
+ */
+final class HtmlFragmentWriter implements Flushable {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int DEFAULT_SCRATCH_SIZE = 8 * 1024;
+    private static final int MAX_ENTITY_LENGTH = 6;
+    private static final int MAX_NUMBER_LENGTH = 20;
+    /**
+     * Smallest encoding step of raw(): a 4-byte surrogate pair with 4 bytes reserved.
+     */
+    private static final int MIN_CHUNK_LENGTH = 8;
+    /**
+     * The scratch buffer must hold the largest single value step: a long, an entity or a chunk of raw text.
+     */
+    static final int MIN_SCRATCH_SIZE = Math.max(MAX_NUMBER_LENGTH, Math.max(MAX_ENTITY_LENGTH, MIN_CHUNK_LENGTH));
+
+    private static final byte[] AMP = "&amp;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LT = "&lt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GT = "&gt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUOT = "&quot;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] APOS = "&#39;".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Constant part of a page, encoded once and shared by all writers.
+     */
+    static final class Fragment {
+        private final ByteBuffer bytes;
+
+        private Fragment(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        public static Fragment of(String html) {
+            byte[] utf8 = html.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer bytes = ByteBuffer.allocateDirect(utf8.length).put(utf8).flip();
+            return new Fragment(bytes.asReadOnlyBuffer());
+        }
+
+        public int length() {
+            return bytes.capacity();
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer scratch;
+    private final ByteBuffer[] pending = new ByteBuffer[MAX_SEGMENTS];
+    /**
+     * One view of the scratch buffer per segment, so a value segment never shares position with another one.
+     */
+    private final ByteBuffer[] scratchViews = new ByteBuffer[MAX_SEGMENTS];
+    /**
+     * Views of the fragments this writer has written, created once per writer, as writers run concurrently.
+     * The map grows with the distinct fragments of the pages, not with the fragments of the whole JVM.
+     */
+    private final Map<Fragment, ByteBuffer> fragmentViews = new IdentityHashMap<>();
+    private int count;
+    private ByteBuffer openValue;
+
+    HtmlFragmentWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_SCRATCH_SIZE);
+    }
+
+    HtmlFragmentWriter(WritableByteChannel channel, int scratchSize) {
+        if (scratchSize < MIN_SCRATCH_SIZE) {
+            throw new IllegalArgumentException("scratch size must be at least " + MIN_SCRATCH_SIZE + " bytes");
+        }
+        this.channel = channel;
+        this.scratch = ByteBuffer.allocateDirect(scratchSize);
+        for (int i = 0; i < MAX_SEGMENTS; i++) {
+            scratchViews[i] = scratch.duplicate();
+        }
+    }
+
+    public HtmlFragmentWriter fragment(Fragment fragment) throws IOException {
+        closeValue();
+        ByteBuffer view = fragmentView(fragment);
+        if (count == MAX_SEGMENTS || isPending(view)) {
+            flush();
+        }
+        view.clear();
+        pending[count++] = view;
+        return this;
+    }
+
+    /**
+     * Writes the value with &amp;, &lt;, &gt;, &quot; and ' escaped, for text and attribute values.
+     */
+    public HtmlFragmentWriter text(CharSequence value) throws IOException {
+        if (value == null) {
+            return raw("null");
+        }
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            byte[] entity = entity(value.charAt(i));
+            if (entity != null) {
+                raw(value, runStart, i);
+                ensureScratch(MAX_ENTITY_LENGTH);
+                openValue();
+                scratch.put(entity);
+                runStart = i + 1;
+            }
+        }
+        return raw(value, runStart, value.length());
+    }
+
+    public HtmlFragmentWriter number(long value) throws IOException {
+        ensureScratch(MAX_NUMBER_LENGTH);
+        openValue();
+        Utf8.encode(value, scratch);
+        return this;
+    }
+
+    /**
+     * Writes the value as it is, without escaping.
+     */
+    public HtmlFragmentWriter raw(CharSequence value) throws IOException {
+        return raw(value, 0, value.length());
+    }
+
+    private HtmlFragmentWriter raw(CharSequence value, int start, int end) throws IOException {
+        int i = start;
+        while (i < end) {
+            ensureScratch(MIN_CHUNK_LENGTH);
+            openValue();
+            // a char takes up to 3 bytes, a surrogate pair takes 4 bytes for 2 chars
+            int chunkEnd = Math.min(end, i + (scratch.remaining() - 4) / 3);
+            if (chunkEnd < end && Character.isHighSurrogate(value.charAt(chunkEnd - 1))) {
+                chunkEnd = chunkEnd - 1 > i ? chunkEnd - 1 : chunkEnd + 1;
+            }
+            Utf8.encode(value, i, chunkEnd, scratch);
+            i = chunkEnd;
+        }
+        return this;
+    }
+
+    /**
+     * Writes everything collected so far to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        closeValue();
+        if (channel instanceof GatheringByteChannel gathering) {
+            long remaining = 0;
+            for (int i = 0; i < count; i++) {
+                remaining += pending[i].remaining();
+            }
+            while (remaining > 0) {
+                remaining -= gathering.write(pending, 0, count);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                while (pending[i].hasRemaining()) {
+                    channel.write(pending[i]);
+                }
+            }
+        }
+        Arrays.fill(pending, 0, count, null);
+        count = 0;
+        scratch.clear();
+    }
+
+    private ByteBuffer fragmentView(Fragment fragment) {
+        ByteBuffer view = fragmentViews.get(fragment);
+        if (view == null) {
+            view = fragment.bytes.duplicate();
+            fragmentViews.put(fragment, view);
+        }
+        return view;
+    }
+
+    private boolean isPending(ByteBuffer view) {
+        for (int i = 0; i < count; i++) {
+            if (pending[i] == view) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureScratch(int bytes) throws IOException {
+        if (scratch.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Starts a value segment at the current scratch position, consecutive values share one segment.
+     */
+    private void openValue() throws IOException {
+        if (openValue != null) {
+            return;
+        }
+        if (count == MAX_SEGMENTS) {
+            flush();
+        }
+        ByteBuffer view = scratchViews[count];
+        view.limit(scratch.capacity()).position(scratch.position());
+        pending[count++] = view;
+        openValue = view;
+    }
+
+    private void closeValue() {
+        if (openValue != null) {
+            openValue.limit(scratch.position());
+            openValue = null;
+        }
+    }
+
+    private static byte[] entity(char c) {
+        switch (c) {
+            case '&':
+                return AMP;
+            case '<':
+                return LT;
+            case '>':
+                return GT;
+            case '"':
+                return QUOT;
+            case '\'':
+                return APOS;
+            default:
+                return null;
+        }
+    }
+}
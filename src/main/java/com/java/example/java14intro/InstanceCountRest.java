@@ -0,0 +1,27 @@
+package com.java.example.java14intro;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * rest controller that exposes per-type instance counts collected by InstanceCounter
+ */
+@RestController
+public class InstanceCountRest {
+
+    /**
+     * Records are mapped by hand, jackson shipped with spring boot 2.2 does not know record accessors.
+     */
+    @GetMapping("/metrics/instances")
+    public static Map<String, Map<String, Number>> instances() {
+        Map<String, Map<String, Number>> instances = new LinkedHashMap<>();
+        for (InstanceCounter.InstanceCount count : InstanceCounter.snapshot()) {
+            instances.put(count.type(), Map.of("count", count.count(), "perSecond", count.perSecond()));
+        }
+        return instances;
+    }
+
+}
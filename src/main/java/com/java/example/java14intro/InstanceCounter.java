@@ -0,0 +1,66 @@
+package com.java.example.java14intro;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-type instance counter that records (see Restaurant) can opt into from their constructor.
+ * LongAdder spreads concurrent increments over striped cells instead of making all threads
+ * compete for one value, so counting does not serialize allocations and no update is lost.
+ * count() sums the cells, it is meant for reporting, not for the allocation path.
+ */
+final class InstanceCounter {
+
+    private static final Map<Class<?>, InstanceCounter> COUNTERS = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    private final LongAdder counter = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    private InstanceCounter(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the counter of the given type, creating it on first use.
+     * Keep the result in a static final field, increment() is then the only cost per instance.
+     */
+    public static InstanceCounter of(Class<?> type) {
+        return COUNTERS.computeIfAbsent(type, InstanceCounter::new);
+    }
+
+    /**
+     * Counts of all registered types ordered by type name.
+     */
+    public static List<InstanceCount> snapshot() {
+        List<InstanceCount> counts = new ArrayList<>();
+        for (InstanceCounter counter : COUNTERS.values()) {
+            counts.add(counter.read());
+        }
+        counts.sort(Comparator.comparing(InstanceCount::type));
+        return counts;
+    }
+
+    public void increment() {
+        counter.increment();
+    }
+
+    public long count() {
+        return counter.sum();
+    }
+
+    public InstanceCount read() {
+        long count = counter.sum();
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return new InstanceCount(type.getName(), count, seconds > 0 ? count / seconds : 0);
+    }
+
+    /**
+     * Number of instances created since the counter was registered and the average allocation rate.
+     */
+    record InstanceCount(String type, long count, double perSecond) {}
+}
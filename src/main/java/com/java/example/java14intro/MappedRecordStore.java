@@ -0,0 +1,384 @@
+package com.java.example.java14intro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent list of records of one type in memory-mapped files, for a warm restart without rebuilding the records.
+ *
+ * The layout is derived from the record components (RecordMetadata): every record has a slot of the same size
+ * in the slot file, so record i is at a computed offset and can be read without reading the records before it.
+ * - primitive components are stored in the slot with their size;
+ * - enum components are stored in the slot as an int ordinal;
+ * - String components are stored in the slot as offset and length of their UTF-8 bytes in the heap file.
+ * Other component types are rejected when the store is opened.
+ *
+ * Reads go straight to the mapped buffers: getInt(index, component) and the like read one value of one record,
+ * get(index) decodes one record, nothing is read when the store is opened.
+ *
+ * Appended records become durable with commit(): the heap and the slots are forced to disk first,
+ * then the record count is written into one of two header copies, each with a generation and a CRC32.
+ * On open the valid copy with the higher generation wins, so after a crash the store contains exactly the
+ * records of the last commit, records appended after it are overwritten by the next appends.
+ *
+ * Files are limited to 2GB each (one mapping per file), mappings are released by the garbage collector
+ * after close(). A store is not thread-safe.
+ */
+final class MappedRecordStore<R extends Record> implements Closeable {
+
+    private static final int MAGIC = 0x52454331;
+    private static final int HEADER_COPY_SIZE = 64;
+    private static final int HEADER_SIZE = 2 * HEADER_COPY_SIZE;
+    private static final int HEADER_CHECKED_BYTES = 40;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_HEAP = 64 * 1024;
+
+    private enum Kind {
+        BOOLEAN(1), BYTE(1), SHORT(2), CHAR(2), INT(4), FLOAT(4), LONG(8), DOUBLE(8), ENUM(4), STRING(8);
+
+        final int size;
+
+        Kind(int size) {
+            this.size = size;
+        }
+    }
+
+    private final Class<R> type;
+    private final RecordMetadata metadata;
+    private final Kind[] kinds;
+    private final int[] offsets;
+    private final Object[][] enumConstants;
+    private final int slotSize;
+    private final int layout;
+    private final FileChannel slotChannel;
+    private final FileChannel heapChannel;
+    private MappedByteBuffer slots;
+    private MappedByteBuffer heap;
+
+    private long generation;
+    private int size;
+    private int heapEnd;
+
+    private MappedRecordStore(Class<R> type, Path file) throws IOException {
+        this.type = type;
+        this.metadata = RecordMetadata.of(type);
+        if (!metadata.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+        this.kinds = new Kind[metadata.size()];
+        this.offsets = new int[metadata.size()];
+        this.enumConstants = new Object[metadata.size()][];
+        StringBuilder description = new StringBuilder(type.getName());
+        int slot = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = kind(metadata.componentType(i), metadata.name(i));
+            offsets[i] = slot;
+            enumConstants[i] = metadata.componentType(i).getEnumConstants();
+            slot += kinds[i].size;
+            description.append(';').append(metadata.name(i)).append(':').append(metadata.componentType(i).getName());
+        }
+        this.slotSize = Math.max(slot, 1);
+        this.layout = description.toString().hashCode();
+
+        this.slotChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.heapChannel = FileChannel.open(heapFile(file), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long existing = slotChannel.size();
+            slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(existing, HEADER_SIZE + (long) INITIAL_SLOTS * slotSize));
+            heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(heapChannel.size(), INITIAL_HEAP));
+            if (existing > 0) {
+                readHeader(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens or creates the store in the given file, strings are kept in a file with the ".heap" suffix next to it.
+     * Fails with IllegalStateException if the file holds another record type or layout.
+     */
+    public static <R extends Record> MappedRecordStore<R> open(Path file, Class<R> type) throws IOException {
+        return new MappedRecordStore<>(type, file);
+    }
+
+    static Path heapFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".heap");
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    /**
+     * Number of records, including records appended and not committed yet.
+     */
+    public int size() {
+        return size;
+    }
+
+    public void append(R record) {
+        ensureSlots(size + 1);
+        int base = slotOffset(size);
+        for (int i = 0; i < kinds.length; i++) {
+            int at = base + offsets[i];
+            Object value = metadata.get(record, i);
+            switch (kinds[i]) {
+                case BOOLEAN -> slots.put(at, (byte) ((Boolean) value ? 1 : 0));
+                case BYTE -> slots.put(at, (Byte) value);
+                case SHORT -> slots.putShort(at, (Short) value);
+                case CHAR -> slots.putChar(at, (Character) value);
+                case INT -> slots.putInt(at, (Integer) value);
+                case FLOAT -> slots.putFloat(at, (Float) value);
+                case LONG -> slots.putLong(at, (Long) value);
+                case DOUBLE -> slots.putDouble(at, (Double) value);
+                case ENUM -> slots.putInt(at, value == null ? -1 : ((Enum<?>) value).ordinal());
+                case STRING -> appendString(at, (String) value);
+            }
+        }
+        size++;
+    }
+
+    public void appendAll(Iterable<? extends R> records) {
+        for (R record : records) {
+            append(record);
+        }
+    }
+
+    /**
+     * Makes all appended records durable.
+     */
+    public void commit() {
+        heap.force();
+        slots.force();
+        generation++;
+        int at = (int) (generation & 1) * HEADER_COPY_SIZE;
+        slots.putInt(at, MAGIC);
+        slots.putInt(at + 4, layout);
+        slots.putInt(at + 8, slotSize);
+        slots.putInt(at + 12, 0);
+        slots.putLong(at + 16, generation);
+        slots.putLong(at + 24, size);
+        slots.putLong(at + 32, heapEnd);
+        slots.putInt(at + HEADER_CHECKED_BYTES, crc(at));
+        slots.force(at, HEADER_COPY_SIZE);
+    }
+
+    /**
+     * Decodes the record at the index through its canonical constructor.
+     */
+    public R get(int index) {
+        int base = slotOffset(Objects.checkIndex(index, size));
+        Object[] values = new Object[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            int at = base + offsets[i];
+            values[i] = switch (kinds[i]) {
+                case BOOLEAN -> slots.get(at) != 0;
+                case BYTE -> slots.get(at);
+                case SHORT -> slots.getShort(at);
+                case CHAR -> slots.getChar(at);
+                case INT -> slots.getInt(at);
+                case FLOAT -> slots.getFloat(at);
+                case LONG -> slots.getLong(at);
+                case DOUBLE -> slots.getDouble(at);
+                case ENUM -> enumConstant(i, slots.getInt(at));
+                case STRING -> readString(at);
+            };
+        }
+        return type.cast(metadata.newInstance(values));
+    }
+
+    public int getInt(int index, int component) {
+        return slots.getInt(at(index, component, Kind.INT));
+    }
+
+    public long getLong(int index, int component) {
+        return slots.getLong(at(index, component, Kind.LONG));
+    }
+
+    public double getDouble(int index, int component) {
+        return slots.getDouble(at(index, component, Kind.DOUBLE));
+    }
+
+    public String getString(int index, int component) {
+        return readString(at(index, component, Kind.STRING));
+    }
+
+    /**
+     * Compares a String component with the value without decoding it, e.g. for a scan.
+     */
+    public boolean stringEquals(int index, int component, String value) {
+        int at = at(index, component, Kind.STRING);
+        int length = slots.getInt(at + 4);
+        if (value == null || length < 0) {
+            return value == null && length < 0;
+        }
+        int offset = slots.getInt(at);
+        int position = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.equals(readString(at));
+            }
+            if (position == length || heap.get(offset + position++) != c) {
+                return false;
+            }
+        }
+        return position == length;
+    }
+
+    /**
+     * Index of the component, for the component getters.
+     */
+    public int component(String name) {
+        return metadata.indexOf(name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            slotChannel.close();
+        } finally {
+            heapChannel.close();
+        }
+    }
+
+    private int at(int index, int component, Kind kind) {
+        if (kinds[component] != kind) {
+            throw new IllegalArgumentException("component " + metadata.name(component) + " of " + type.getName()
+                    + " is of type " + metadata.componentType(component).getSimpleName());
+        }
+        return slotOffset(Objects.checkIndex(index, size)) + offsets[component];
+    }
+
+    private int slotOffset(int index) {
+        return HEADER_SIZE + index * slotSize;
+    }
+
+    private void appendString(int at, String value) {
+        if (value == null) {
+            slots.putInt(at, 0);
+            slots.putInt(at + 4, -1);
+            return;
+        }
+        ensureHeap(heapEnd + 3L * value.length());
+        heap.position(heapEnd);
+        Utf8.encode(value, heap);
+        slots.putInt(at, heapEnd);
+        slots.putInt(at + 4, heap.position() - heapEnd);
+        heapEnd = heap.position();
+    }
+
+    private String readString(int at) {
+        int length = slots.getInt(at + 4);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        heap.get(slots.getInt(at), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Object enumConstant(int component, int ordinal) {
+        return ordinal < 0 ? null : enumConstants[component][ordinal];
+    }
+
+    private void ensureSlots(int records) {
+        long required = HEADER_SIZE + (long) records * slotSize;
+        if (required > slots.capacity()) {
+            slots = remap(slotChannel, required, slots.capacity());
+        }
+    }
+
+    private void ensureHeap(long required) {
+        if (required > heap.capacity()) {
+            heap = remap(heapChannel, required, heap.capacity());
+        }
+    }
+
+    private static MappedByteBuffer remap(FileChannel channel, long required, int capacity) {
+        long grown = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * capacity));
+        if (required > grown) {
+            throw new IllegalStateException("mapped files are limited to 2GB");
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+        } catch (IOException e) {
+            throw new IllegalStateException("cannot grow mapped file", e);
+        }
+    }
+
+    private void readHeader(Path file) {
+        int newest = -1;
+        for (int copy = 0; copy < 2; copy++) {
+            int at = copy * HEADER_COPY_SIZE;
+            if (slots.getInt(at) == MAGIC && slots.getInt(at + HEADER_CHECKED_BYTES) == crc(at)
+                    && (newest < 0 || slots.getLong(at + 16) > slots.getLong(newest + 16))) {
+                newest = at;
+            }
+        }
+        if (newest < 0) {
+            // created, but never committed
+            return;
+        }
+        if (slots.getInt(newest + 4) != layout || slots.getInt(newest + 8) != slotSize) {
+            throw new IllegalStateException(file + " does not hold records of " + type.getName()
+                    + " with the current components");
+        }
+        generation = slots.getLong(newest + 16);
+        size = (int) slots.getLong(newest + 24);
+        heapEnd = (int) slots.getLong(newest + 32);
+    }
+
+    private int crc(int at) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < HEADER_CHECKED_BYTES; i++) {
+            crc.update(slots.get(at + i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private static Kind kind(Class<?> componentType, String name) {
+        if (componentType == boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        if (componentType == byte.class) {
+            return Kind.BYTE;
+        }
+        if (componentType == short.class) {
+            return Kind.SHORT;
+        }
+        if (componentType == char.class) {
+            return Kind.CHAR;
+        }
+        if (componentType == int.class) {
+            return Kind.INT;
+        }
+        if (componentType == float.class) {
+            return Kind.FLOAT;
+        }
+        if (componentType == long.class) {
+            return Kind.LONG;
+        }
+        if (componentType == double.class) {
+            return Kind.DOUBLE;
+        }
+        if (componentType.isEnum()) {
+            return Kind.ENUM;
+        }
+        if (componentType == String.class) {
+            return Kind.STRING;
+        }
+        throw new IllegalArgumentException("component " + name + " of type " + componentType.getName()
+                + " has no fixed layout");
+    }
+}
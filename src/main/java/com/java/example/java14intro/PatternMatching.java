@@ -53,6 +53,19 @@ public class PatternMatching {
         return x instanceof User user ? user.getAddress() : "";
     }
 
+    /**
+     * When a chain of pattern matching checks grows to many types, every call tests the types one by one.
+     * TypeDispatch finds the handler once per class and caches it, the order of registration is the order of checks.
+     */
+    private static final TypeDispatch<String> USERS_ADDRESS = TypeDispatch.<String>builder()
+            .on(User.class, User::getAddress)
+            .otherwise(x -> "")
+            .build();
+
+    private static String getUsersAddressWithTypeDispatch(Object x) {
+        return USERS_ADDRESS.apply(x);
+    }
+
     /**
      * If on the left of && we create pattern variable, then this variable can be used on the right.
      */
@@ -0,0 +1,22 @@
+package com.java.example.java14intro;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * server of the reactive profile: spring-boot-starter-web keeps Tomcat on the classpath
+ * and the reactive auto-configuration prefers Tomcat over Reactor Netty,
+ * so the Netty factory is declared explicitly
+ */
+@Profile("reactive")
+@Configuration(proxyBeanMethods = false)
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
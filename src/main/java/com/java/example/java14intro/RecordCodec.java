@@ -0,0 +1,385 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary codec for records, built once per record type from its components.
+ * Components are written in declaration order without names or type descriptors:
+ * - int, long, double, boolean components take their fixed size;
+ * - String components are UTF-8 with an int length, encoded straight into the buffer;
+ * - record and enum components are written inline (enums by ordinal);
+ * - nullable components are prefixed with a presence byte;
+ * - components declared as a type variable or Object (see Shape) carry a tag with the runtime type.
+ * Buffers are supplied by the caller and can be reused, a too small buffer fails with BufferOverflowException.
+ * Other component types (e.g. Triangle class) are not supported.
+ */
+final class RecordCodec<R> {
+
+    private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RecordCodec<?> computeValue(Class<?> type) {
+            return new RecordCodec<>(type);
+        }
+    };
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte RECORD = 6;
+
+    private static final Map<String, Class<?>> RECORD_TYPES = new ConcurrentHashMap<>();
+
+    private final Class<R> type;
+    private final RecordMetadata metadata;
+    private final ComponentCodec[] components;
+
+    @SuppressWarnings("unchecked")
+    private RecordCodec(Class<?> type) {
+        this.type = (Class<R>) type;
+        this.metadata = RecordMetadata.of(type);
+        if (!metadata.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+        this.components = new ComponentCodec[metadata.size()];
+        for (int i = 0; i < components.length; i++) {
+            components[i] = componentCodec(i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> RecordCodec<R> of(Class<R> type) {
+        return (RecordCodec<R>) CODECS.get(type);
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    public void encode(R record, ByteBuffer buffer) {
+        for (ComponentCodec component : components) {
+            component.write(record, buffer);
+        }
+    }
+
+    public R decode(ByteBuffer buffer) {
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            values[i] = components[i].read(buffer);
+        }
+        return type.cast(metadata.newInstance(values));
+    }
+
+    /**
+     * Writes the value of one component of a record and reads it back.
+     */
+    private interface ComponentCodec {
+        void write(Object record, ByteBuffer buffer);
+
+        Object read(ByteBuffer buffer);
+    }
+
+    private ComponentCodec componentCodec(int index) {
+        Class<?> componentType = metadata.componentType(index);
+        if (componentType.isPrimitive()) {
+            return primitiveCodec(index, componentType);
+        }
+        MethodHandle accessor = metadata.accessor(index);
+        ValueCodec valueCodec = valueCodec(componentType);
+        return new ComponentCodec() {
+            @Override
+            public void write(Object record, ByteBuffer buffer) {
+                valueCodec.write(invoke(accessor, record), buffer);
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return valueCodec.read(buffer);
+            }
+        };
+    }
+
+    /**
+     * Primitive components are read through accessors of their exact type, so they are not boxed on write.
+     */
+    private ComponentCodec primitiveCodec(int index, Class<?> componentType) {
+        MethodHandle accessor = metadata.exactAccessor(index);
+        if (componentType == int.class) {
+            return new ComponentCodec() {
+                @Override
+                public void write(Object record, ByteBuffer buffer) {
+                    try {
+                        buffer.putInt((int) accessor.invokeExact(record));
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return buffer.getInt();
+                }
+            };
+        }
+        if (componentType == long.class) {
+            return new ComponentCodec() {
+                @Override
+                public void write(Object record, ByteBuffer buffer) {
+                    try {
+                        buffer.putLong((long) accessor.invokeExact(record));
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return buffer.getLong();
+                }
+            };
+        }
+        if (componentType == double.class) {
+            return new ComponentCodec() {
+                @Override
+                public void write(Object record, ByteBuffer buffer) {
+                    try {
+                        buffer.putDouble((double) accessor.invokeExact(record));
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return buffer.getDouble();
+                }
+            };
+        }
+        if (componentType == boolean.class) {
+            return new ComponentCodec() {
+                @Override
+                public void write(Object record, ByteBuffer buffer) {
+                    try {
+                        buffer.put((boolean) accessor.invokeExact(record) ? (byte) 1 : (byte) 0);
+                    } catch (Throwable e) {
+                        throw rethrow(e);
+                    }
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return buffer.get() != 0;
+                }
+            };
+        }
+        throw new IllegalArgumentException("unsupported component type " + componentType + " in " + type.getName());
+    }
+
+    /**
+     * Writes and reads a nullable value of a reference type.
+     */
+    private interface ValueCodec {
+        void write(Object value, ByteBuffer buffer);
+
+        Object read(ByteBuffer buffer);
+    }
+
+    private static ValueCodec valueCodec(Class<?> valueType) {
+        if (valueType == String.class) {
+            return nullable(new ValueCodec() {
+                @Override
+                public void write(Object value, ByteBuffer buffer) {
+                    writeString((String) value, buffer);
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return readString(buffer);
+                }
+            });
+        }
+        if (valueType.isEnum()) {
+            Object[] constants = valueType.getEnumConstants();
+            return nullable(new ValueCodec() {
+                @Override
+                public void write(Object value, ByteBuffer buffer) {
+                    buffer.putInt(((Enum<?>) value).ordinal());
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    int ordinal = buffer.getInt();
+                    if (ordinal < 0 || ordinal >= constants.length) {
+                        throw new IllegalArgumentException("unknown ordinal " + ordinal + " of " + valueType.getName());
+                    }
+                    return constants[ordinal];
+                }
+            });
+        }
+        if (valueType.isRecord()) {
+            return nullable(new ValueCodec() {
+                @Override
+                public void write(Object value, ByteBuffer buffer) {
+                    recordCodec(valueType).encode(value, buffer);
+                }
+
+                @Override
+                public Object read(ByteBuffer buffer) {
+                    return recordCodec(valueType).decode(buffer);
+                }
+            });
+        }
+        if (valueType == Object.class || valueType == Record.class || valueType == Number.class
+                || valueType.isInterface() || valueType == Integer.class || valueType == Long.class
+                || valueType == Double.class || valueType == Boolean.class) {
+            return DYNAMIC;
+        }
+        throw new IllegalArgumentException("unsupported component type " + valueType.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RecordCodec<Object> recordCodec(Class<?> recordType) {
+        return (RecordCodec<Object>) CODECS.get(recordType);
+    }
+
+    private static ValueCodec nullable(ValueCodec codec) {
+        return new ValueCodec() {
+            @Override
+            public void write(Object value, ByteBuffer buffer) {
+                if (value == null) {
+                    buffer.put(NULL);
+                } else {
+                    buffer.put((byte) 1);
+                    codec.write(value, buffer);
+                }
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return buffer.get() == NULL ? null : codec.read(buffer);
+            }
+        };
+    }
+
+    /**
+     * Codec for components whose type is only known at runtime, e.g. T of Shape<T>.
+     */
+    private static final ValueCodec DYNAMIC = new ValueCodec() {
+        @Override
+        public void write(Object value, ByteBuffer buffer) {
+            if (value == null) {
+                buffer.put(NULL);
+            } else if (value instanceof String string) {
+                buffer.put(STRING);
+                writeString(string, buffer);
+            } else if (value instanceof Integer integer) {
+                buffer.put(INTEGER).putInt(integer);
+            } else if (value instanceof Long longValue) {
+                buffer.put(LONG).putLong(longValue);
+            } else if (value instanceof Double doubleValue) {
+                buffer.put(DOUBLE).putDouble(doubleValue);
+            } else if (value instanceof Boolean booleanValue) {
+                buffer.put(BOOLEAN).put(booleanValue ? (byte) 1 : (byte) 0);
+            } else if (value.getClass().isRecord()) {
+                buffer.put(RECORD);
+                writeString(value.getClass().getName(), buffer);
+                recordCodec(value.getClass()).encode(value, buffer);
+            } else {
+                throw new IllegalArgumentException("unsupported value type " + value.getClass().getName());
+            }
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString(buffer);
+                case INTEGER:
+                    return buffer.getInt();
+                case LONG:
+                    return buffer.getLong();
+                case DOUBLE:
+                    return buffer.getDouble();
+                case BOOLEAN:
+                    return buffer.get() != 0;
+                case RECORD:
+                    return recordCodec(recordType(readString(buffer))).decode(buffer);
+                default:
+                    throw new IllegalArgumentException("unknown value tag " + tag);
+            }
+        }
+    };
+
+    /**
+     * Only record classes are loaded by name, the codec does not instantiate arbitrary classes.
+     */
+    private static Class<?> recordType(String name) {
+        return RECORD_TYPES.computeIfAbsent(name, className -> {
+            try {
+                Class<?> recordType = Class.forName(className, false, RecordCodec.class.getClassLoader());
+                if (!recordType.isRecord()) {
+                    throw new IllegalArgumentException(className + " is not a record");
+                }
+                return recordType;
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("unknown record type " + className, e);
+            }
+        });
+    }
+
+    /**
+     * Encodes UTF-8 char by char into the buffer, the byte length is written in front of it when known.
+     */
+    static void writeString(String value, ByteBuffer buffer) {
+        int lengthPosition = buffer.position();
+        buffer.putInt(0);
+        int start = buffer.position();
+        Utf8.encode(value, buffer);
+        buffer.putInt(lengthPosition, buffer.position() - start);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = SCRATCH.get();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+            SCRATCH.set(bytes);
+        }
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static Object invoke(MethodHandle accessor, Object record) {
+        try {
+            return (Object) accessor.invokeExact(record);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,494 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Columnar container for many records of one type, e.g. RecordExample(name, shape).
+ * Every component is kept in its own primitive array instead of one object per record:
+ * - int, long and double components are stored as they are;
+ * - String components are dictionary encoded, a row holds an int code of a distinct string;
+ * - other components are kept as references.
+ * Records are created only when get(int) is called. Filters work on the columns and
+ * return matching rows as a BitSet, a String predicate is evaluated once per distinct value.
+ * The container is not thread-safe.
+ */
+final class RecordColumns<R> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Class<R> type;
+    private final RecordMetadata metadata;
+    private final Column[] columns;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private int size;
+    private int capacity = INITIAL_CAPACITY;
+
+    private RecordColumns(Class<R> type) {
+        this.type = type;
+        this.metadata = RecordMetadata.of(type);
+        this.columns = new Column[metadata.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = column(metadata.componentType(i), i);
+            columnIndexes.put(metadata.name(i), i);
+        }
+    }
+
+    public static <R extends Record> RecordColumns<R> of(Class<R> type) {
+        return new RecordColumns<>(type);
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(R record) {
+        if (size == capacity) {
+            capacity += capacity >> 1;
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        for (Column column : columns) {
+            column.add(record, size);
+        }
+        size++;
+    }
+
+    public void addAll(Iterable<? extends R> records) {
+        for (R record : records) {
+            add(record);
+        }
+    }
+
+    /**
+     * Rebuilds the record stored in the given row through its canonical constructor.
+     */
+    public R get(int row) {
+        checkRow(row);
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].value(row);
+        }
+        return type.cast(metadata.newInstance(values));
+    }
+
+    /**
+     * Index of the column that stores the component with the given name.
+     */
+    public int column(String component) {
+        Integer index = columnIndexes.get(component);
+        if (index == null) {
+            throw new IllegalArgumentException(type.getName() + " has no component " + component);
+        }
+        return index;
+    }
+
+    /*--------------------------------- projections ----------------------------------*/
+
+    public Object value(int row, int column) {
+        checkRow(row);
+        return columns[column].value(row);
+    }
+
+    /**
+     * Returns the dictionary instance of the string, no new String is created.
+     */
+    public String string(int row, int column) {
+        checkRow(row);
+        return column(column, StringColumn.class).value(row);
+    }
+
+    public int intValue(int row, int column) {
+        checkRow(row);
+        return column(column, IntColumn.class).values[row];
+    }
+
+    public long longValue(int row, int column) {
+        checkRow(row);
+        return column(column, LongColumn.class).values[row];
+    }
+
+    public double doubleValue(int row, int column) {
+        checkRow(row);
+        return column(column, DoubleColumn.class).values[row];
+    }
+
+    /*--------------------------------- filters ----------------------------------*/
+
+    /**
+     * The predicate is called with null only if the column holds nulls.
+     */
+    public BitSet filter(int column, Predicate<String> predicate) {
+        StringColumn strings = column(column, StringColumn.class);
+        boolean[] matchingCodes = new boolean[strings.dictionary.size()];
+        for (int code = 0; code < matchingCodes.length; code++) {
+            matchingCodes[code] = predicate.test(strings.dictionary.get(code));
+        }
+        boolean matchingNull = strings.hasNulls && predicate.test(null);
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            int code = strings.codes[row];
+            if (code == StringColumn.NULL ? matchingNull : matchingCodes[code]) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    public BitSet filterEquals(int column, String value) {
+        StringColumn strings = column(column, StringColumn.class);
+        int code = value == null ? StringColumn.NULL : strings.dictionary.code(value);
+        BitSet rows = new BitSet(size);
+        if (code == StringDictionary.ABSENT) {
+            return rows;
+        }
+        for (int row = 0; row < size; row++) {
+            if (strings.codes[row] == code) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    public BitSet filterInt(int column, IntPredicate predicate) {
+        int[] values = column(column, IntColumn.class).values;
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(values[row])) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    public BitSet filterLong(int column, LongPredicate predicate) {
+        long[] values = column(column, LongColumn.class).values;
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(values[row])) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    public BitSet filterDouble(int column, DoublePredicate predicate) {
+        double[] values = column(column, DoubleColumn.class).values;
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(values[row])) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Number of distinct strings stored in the given String column.
+     */
+    public int distinct(int column) {
+        return column(column, StringColumn.class).dictionary.size();
+    }
+
+    /**
+     * Approximate heap used by the columns and dictionaries, for comparison with a list of records.
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += column.bytes();
+        }
+        return bytes;
+    }
+
+    private <C extends Column> C column(int column, Class<C> columnType) {
+        Column candidate = columns[column];
+        if (!columnType.isInstance(candidate)) {
+            throw new IllegalArgumentException("component " + metadata.name(column) + " of " + type.getName()
+                    + " is of type " + metadata.componentType(column).getSimpleName());
+        }
+        return columnType.cast(candidate);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + size);
+        }
+    }
+
+    private Column column(Class<?> componentType, int index) {
+        MethodHandle accessor = metadata.exactAccessor(index);
+        if (componentType == int.class) {
+            return new IntColumn(accessor);
+        }
+        if (componentType == long.class) {
+            return new LongColumn(accessor);
+        }
+        if (componentType == double.class) {
+            return new DoubleColumn(accessor);
+        }
+        if (componentType == String.class) {
+            return new StringColumn(accessor);
+        }
+        return new ObjectColumn(metadata.accessor(index));
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Values of one component, stored by row.
+     */
+    private abstract static class Column {
+        final MethodHandle accessor;
+
+        Column(MethodHandle accessor) {
+            this.accessor = accessor;
+        }
+
+        abstract void add(Object record, int row);
+
+        abstract Object value(int row);
+
+        abstract void grow(int capacity);
+
+        abstract long bytes();
+    }
+
+    private static final class IntColumn extends Column {
+        int[] values = new int[INITIAL_CAPACITY];
+
+        IntColumn(MethodHandle accessor) {
+            super(accessor);
+        }
+
+        @Override
+        void add(Object record, int row) {
+            try {
+                values[row] = (int) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        long bytes() {
+            return 16L + 4L * values.length;
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        long[] values = new long[INITIAL_CAPACITY];
+
+        LongColumn(MethodHandle accessor) {
+            super(accessor);
+        }
+
+        @Override
+        void add(Object record, int row) {
+            try {
+                values[row] = (long) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        long bytes() {
+            return 16L + 8L * values.length;
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        double[] values = new double[INITIAL_CAPACITY];
+
+        DoubleColumn(MethodHandle accessor) {
+            super(accessor);
+        }
+
+        @Override
+        void add(Object record, int row) {
+            try {
+                values[row] = (double) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        long bytes() {
+            return 16L + 8L * values.length;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        static final int NULL = -1;
+
+        final StringDictionary dictionary = new StringDictionary();
+        int[] codes = new int[INITIAL_CAPACITY];
+        boolean hasNulls;
+
+        StringColumn(MethodHandle accessor) {
+            super(accessor);
+        }
+
+        @Override
+        void add(Object record, int row) {
+            String value;
+            try {
+                value = (String) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+            if (value == null) {
+                codes[row] = NULL;
+                hasNulls = true;
+            } else {
+                codes[row] = dictionary.add(value);
+            }
+        }
+
+        @Override
+        String value(int row) {
+            int code = codes[row];
+            return code == NULL ? null : dictionary.get(code);
+        }
+
+        @Override
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        @Override
+        long bytes() {
+            return 16L + 4L * codes.length + dictionary.bytes();
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        Object[] values = new Object[INITIAL_CAPACITY];
+
+        ObjectColumn(MethodHandle accessor) {
+            super(accessor);
+        }
+
+        @Override
+        void add(Object record, int row) {
+            try {
+                values[row] = (Object) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        Object value(int row) {
+            return values[row];
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        /**
+         * Only the references are counted, referenced objects may be shared.
+         */
+        @Override
+        long bytes() {
+            return 16L + 4L * values.length;
+        }
+    }
+
+    /**
+     * Distinct strings of one column, a code is the position of the string in the dictionary.
+     */
+    static final class StringDictionary {
+        static final int ABSENT = -2;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private long bytes;
+
+        int add(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int newCode = values.size();
+            values.add(value);
+            codes.put(value, newCode);
+            // map entry, boxed code, list slot, String header and its Latin-1 array
+            bytes += 32 + 16 + 4 + 24 + 16 + value.length();
+            return newCode;
+        }
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            return code == null ? ABSENT : code;
+        }
+
+        String get(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        long bytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Writes records into a caller-supplied StringBuilder in the format of the generated Record.toString(),
+ * e.g. RecordExample[name=circle, shape=round], without the intermediate Strings of the generated method.
+ * Component values are appended as they are read: primitives through exact accessors without boxing,
+ * Strings and boxed numbers directly, nested records recursively, StringBuilderFormattable objects through formatTo.
+ * Other values are appended with StringBuilder.append(Object), which allocates only if their toString() does.
+ * A record that overrides toString() is appended with its own toString().
+ *
+ * With a reused builder (see pooled()) formatting does not allocate once the builder has grown to the needed size.
+ */
+final class RecordFormatter {
+
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+
+    private static final ClassValue<Format> FORMATS = new ClassValue<>() {
+        @Override
+        protected Format computeValue(Class<?> type) {
+            return new Format(type);
+        }
+    };
+
+    private static final ThreadLocal<StringBuilder> POOL = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private RecordFormatter() {
+    }
+
+    /**
+     * Appends the record as its generated toString() would return it.
+     */
+    public static StringBuilder appendTo(StringBuilder buffer, Record record) {
+        if (record == null) {
+            return buffer.append("null");
+        }
+        FORMATS.get(record.getClass()).appendTo(buffer, record);
+        return buffer;
+    }
+
+    /**
+     * Appends any value the way StringBuilder.append(Object) would, records and formattables without toString().
+     */
+    public static StringBuilder appendValue(StringBuilder buffer, Object value) {
+        if (value instanceof Record record) {
+            return appendTo(buffer, record);
+        }
+        if (value instanceof StringBuilderFormattable formattable) {
+            return formattable.formatTo(buffer);
+        }
+        if (value instanceof String string) {
+            return buffer.append(string);
+        }
+        if (value instanceof Integer number) {
+            return buffer.append(number.intValue());
+        }
+        if (value instanceof Long number) {
+            return buffer.append(number.longValue());
+        }
+        if (value instanceof Double number) {
+            return buffer.append(number.doubleValue());
+        }
+        if (value instanceof Boolean bool) {
+            return buffer.append(bool.booleanValue());
+        }
+        if (value instanceof Character character) {
+            return buffer.append(character.charValue());
+        }
+        return buffer.append(value);
+    }
+
+    /**
+     * Empty StringBuilder of the current thread, for formatting that ends in a write to a stream or a log:
+     * the content is valid until the next pooled() call on the same thread.
+     * It can be passed as a log argument, RecordMessageConverter formats messages into a builder of its own.
+     */
+    public static StringBuilder pooled() {
+        StringBuilder buffer = POOL.get();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            buffer = new StringBuilder(256);
+            POOL.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    private static final class Format {
+        private final boolean ownToString;
+        private final String[] prefixes;
+        private final Class<?>[] types;
+        private final MethodHandle[] accessors;
+
+        Format(Class<?> type) {
+            RecordMetadata metadata = RecordMetadata.of(type);
+            this.ownToString = declaresToString(type);
+            int size = metadata.size();
+            this.prefixes = new String[size];
+            this.types = new Class<?>[size];
+            this.accessors = new MethodHandle[size];
+            for (int i = 0; i < size; i++) {
+                prefixes[i] = (i == 0 ? type.getSimpleName() + "[" : ", ") + metadata.name(i) + "=";
+                types[i] = metadata.componentType(i);
+                accessors[i] = types[i].isPrimitive() ? metadata.exactAccessor(i) : metadata.accessor(i);
+            }
+        }
+
+        void appendTo(StringBuilder buffer, Object record) {
+            if (ownToString) {
+                buffer.append(record);
+                return;
+            }
+            if (accessors.length == 0) {
+                buffer.append(record.getClass().getSimpleName()).append("[]");
+                return;
+            }
+            try {
+                for (int i = 0; i < accessors.length; i++) {
+                    buffer.append(prefixes[i]);
+                    Class<?> type = types[i];
+                    MethodHandle accessor = accessors[i];
+                    if (type == int.class) {
+                        buffer.append((int) accessor.invokeExact(record));
+                    } else if (type == long.class) {
+                        buffer.append((long) accessor.invokeExact(record));
+                    } else if (type == double.class) {
+                        buffer.append((double) accessor.invokeExact(record));
+                    } else if (type == boolean.class) {
+                        buffer.append((boolean) accessor.invokeExact(record));
+                    } else if (type == char.class) {
+                        buffer.append((char) accessor.invokeExact(record));
+                    } else if (type == float.class) {
+                        buffer.append((float) accessor.invokeExact(record));
+                    } else if (type == byte.class) {
+                        buffer.append((byte) accessor.invokeExact(record));
+                    } else if (type == short.class) {
+                        buffer.append((short) accessor.invokeExact(record));
+                    } else {
+                        appendValue(buffer, (Object) accessor.invokeExact(record));
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("cannot format " + record.getClass().getName(), e);
+            }
+            buffer.append(']');
+        }
+
+        private static boolean declaresToString(Class<?> type) {
+            try {
+                type.getDeclaredMethod("toString");
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.java.example.java14intro;
+
+import java.util.Objects;
+
+/**
+ * Well-mixed hash over record components, for records that override hashCode() (see Person).
+ * Component hashes are combined with the MurmurHash3 round and finished with its fmix32 step,
+ * so similar records do not land in neighbouring HashMap buckets.
+ * The result is consistent with the generated equals(): equal records have equal hashes.
+ * Records cannot declare instance fields, so the hash cannot be stored in the record itself.
+ * What is cached is the per-type RecordMetadata with the accessors,
+ * and String components keep their own cached hash.
+ */
+final class RecordHashing {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+    private static final int SEED = 0x9747b28c;
+
+    private RecordHashing() {
+    }
+
+    /**
+     * Hash of all components of the given record, to be returned from Record::hashCode.
+     */
+    public static int hash(Record record) {
+        RecordMetadata metadata = RecordMetadata.of(record.getClass());
+        int hash = SEED;
+        for (int i = 0; i < metadata.size(); i++) {
+            hash = combine(hash, Objects.hashCode(metadata.get(record, i)));
+        }
+        return finish(hash, metadata.size());
+    }
+
+    /**
+     * Hash of the given component values, for hand-written hashCode() methods on hot paths.
+     */
+    public static int hash(Object first, Object second) {
+        return finish(combine(combine(SEED, Objects.hashCode(first)), Objects.hashCode(second)), 2);
+    }
+
+    static int combine(int hash, int componentHash) {
+        int k = componentHash * C1;
+        k = Integer.rotateLeft(k, 15);
+        k *= C2;
+        hash ^= k;
+        hash = Integer.rotateLeft(hash, 13);
+        return hash * 5 + 0xe6546b64;
+    }
+
+    static int finish(int hash, int length) {
+        return mix(hash ^ length);
+    }
+
+    /**
+     * fmix32 step of MurmurHash3: every input bit affects every output bit.
+     */
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,250 @@
+package com.java.example.java14intro;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Deduplication of equal value records, e.g. RecordExample(name, shape) or Administrator read from a feed:
+ * intern(record) returns one canonical instance for all equal records, so the duplicates can be collected.
+ * Lookup relies on the equals() and hashCode() of the record.
+ *
+ * The cache is bounded: entries are kept in access order in a number of independently locked stripes,
+ * a stripe evicts its least recently used entry when it is full.
+ *
+ * Safety check: a record with a hashCode() that collides for unequal records (like Person with a constant hash)
+ * turns every lookup into a scan of one bucket. The hashes of the first distinct records are sampled,
+ * and when they mostly collide the interner stops caching and returns records as they are (hashBroken()).
+ */
+final class RecordInterner<R extends Record> {
+
+    static final int SAMPLE = 1024;
+
+    private final Class<R> type;
+    private final Stripe<R>[] stripes;
+    private final int mask;
+    private final int shallowBytes;
+    private final int[] stringComponents;
+    private final RecordMetadata metadata;
+
+    private final int[] sampledHashes = new int[SAMPLE];
+    private int sampled;
+    private long sampledBytes;
+    private volatile boolean hashBroken;
+
+    @SuppressWarnings("unchecked")
+    private RecordInterner(Class<R> type, int maxSize) {
+        this.type = type;
+        this.metadata = RecordMetadata.of(type);
+        int count = Integer.highestOneBit(Math.max(1, Math.min(maxSize / 16, 4 * Runtime.getRuntime().availableProcessors())));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(Math.max(1, maxSize / count));
+        }
+        this.mask = count - 1;
+
+        int fields = 0;
+        int strings = 0;
+        for (int i = 0; i < metadata.size(); i++) {
+            fields += fieldBytes(metadata.componentType(i));
+            if (metadata.componentType(i) == String.class) {
+                strings++;
+            }
+        }
+        this.shallowBytes = align(12 + fields);
+        this.stringComponents = new int[strings];
+        for (int i = 0, s = 0; i < metadata.size(); i++) {
+            if (metadata.componentType(i) == String.class) {
+                stringComponents[s++] = i;
+            }
+        }
+    }
+
+    /**
+     * Interner that keeps at most maxSize canonical records.
+     */
+    public static <R extends Record> RecordInterner<R> bounded(Class<R> type, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        return new RecordInterner<>(type, maxSize);
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    /**
+     * Returns the canonical instance equal to the record, the record itself becomes canonical when none is cached.
+     */
+    public R intern(R record) {
+        if (record == null || hashBroken) {
+            return record;
+        }
+        int hash = record.hashCode();
+        Stripe<R> stripe = stripes[RecordHashing.mix(hash) & mask];
+        synchronized (stripe) {
+            R canonical = stripe.get(record);
+            if (canonical != null) {
+                stripe.hits++;
+                return canonical;
+            }
+            stripe.misses++;
+            stripe.put(record, record);
+        }
+        if (sampled < SAMPLE) { // racy read, sample() checks again under its lock
+            sample(hash, record);
+        }
+        return record;
+    }
+
+    public boolean hashBroken() {
+        return hashBroken;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<R> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long hits() {
+        long hits = 0;
+        for (Stripe<R> stripe : stripes) {
+            synchronized (stripe) {
+                hits += stripe.hits;
+            }
+        }
+        return hits;
+    }
+
+    public long misses() {
+        long misses = 0;
+        for (Stripe<R> stripe : stripes) {
+            synchronized (stripe) {
+                misses += stripe.misses;
+            }
+        }
+        return misses;
+    }
+
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Estimate of heap released by returning canonical instances: hits times the average size of the first
+     * distinct records, assuming compressed references and that the duplicates did not share their String
+     * components with the canonical record.
+     */
+    public long bytesSaved() {
+        long perRecord;
+        synchronized (this) {
+            perRecord = sampled == 0 ? 0 : sampledBytes / sampled;
+        }
+        return hits() * perRecord;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s interner: size=%,d hits=%,d misses=%,d hitRate=%.2f%% saved=%,dB%s",
+                type.getSimpleName(), size(), hits(), misses(), 100 * hitRate(), bytesSaved(),
+                hashBroken ? " (broken hashCode, caching disabled)" : "");
+    }
+
+    /**
+     * Distinct records with less than one distinct hash per 16 records are treated as a broken hashCode().
+     * Their sizes are the sample of bytesSaved(), so a hit costs no more than the lookup.
+     */
+    private synchronized void sample(int hash, R record) {
+        if (sampled == SAMPLE) {
+            return;
+        }
+        sampledBytes += retainedBytes(record);
+        sampledHashes[sampled++] = hash;
+        if (sampled < SAMPLE) {
+            return;
+        }
+        int[] hashes = sampledHashes.clone();
+        Arrays.sort(hashes);
+        int distinct = 1;
+        for (int i = 1; i < hashes.length; i++) {
+            if (hashes[i] != hashes[i - 1]) {
+                distinct++;
+            }
+        }
+        if (distinct * 16 < SAMPLE) {
+            hashBroken = true;
+            for (Stripe<R> stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.clear();
+                }
+            }
+        }
+    }
+
+    private long retainedBytes(R record) {
+        long bytes = shallowBytes;
+        for (int component : stringComponents) {
+            String value = (String) metadata.get(record, component);
+            if (value != null) {
+                bytes += stringBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * String object plus its byte array, Latin-1 strings use one byte per char.
+     */
+    private static long stringBytes(String value) {
+        int length = value.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        return 24 + align(16 + (latin1 ? length : 2 * length));
+    }
+
+    private static int fieldBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return 4;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static final class Stripe<R> extends LinkedHashMap<R, R> {
+        private final int capacity;
+        long hits;
+        long misses;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<R, R> eldest) {
+            return size() > capacity;
+        }
+    }
+}
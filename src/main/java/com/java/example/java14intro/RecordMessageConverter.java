@@ -0,0 +1,84 @@
+package com.java.example.java14intro;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Logback converter for %m, %msg and %message (registered in logback-spring.xml) that formats the
+ * {} placeholders of a log message into a StringBuilder reused per thread:
+ * record and StringBuilderFormattable arguments are appended without calling their toString(),
+ * so a logged record costs no String of its own, only the message String logback needs is created.
+ * Placeholders and escapes follow the slf4j MessageFormatter, messages with array arguments are left to it.
+ * The builder is not the one of RecordFormatter.pooled(), so an argument formatted into that builder
+ * is not cleared before it is logged.
+ */
+public class RecordMessageConverter extends ClassicConverter {
+
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> POOL = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        Object[] arguments = event.getArgumentArray();
+        String pattern = event.getMessage();
+        if (pattern == null || arguments == null || arguments.length == 0 || hasArray(arguments)) {
+            return event.getFormattedMessage();
+        }
+        return format(pattern, arguments);
+    }
+
+    /**
+     * The formatted message, built in the builder of the current thread.
+     */
+    static String format(String pattern, Object[] arguments) {
+        StringBuilder buffer = POOL.get();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            buffer = new StringBuilder(256);
+            POOL.set(buffer);
+        }
+        buffer.setLength(0);
+        return format(buffer, pattern, arguments).toString();
+    }
+
+    static StringBuilder format(StringBuilder buffer, String pattern, Object[] arguments) {
+        int from = 0;
+        int argument = 0;
+        while (argument < arguments.length) {
+            int placeholder = pattern.indexOf("{}", from);
+            if (placeholder < 0) {
+                break;
+            }
+            if (isEscaped(pattern, placeholder)) {
+                if (isEscaped(pattern, placeholder - 1)) {
+                    // "\\{}" is a backslash followed by a placeholder
+                    buffer.append(pattern, from, placeholder - 1);
+                    RecordFormatter.appendValue(buffer, arguments[argument++]);
+                    from = placeholder + 2;
+                } else {
+                    // "\{}" is a literal {}
+                    buffer.append(pattern, from, placeholder - 1).append('{');
+                    from = placeholder + 1;
+                }
+            } else {
+                buffer.append(pattern, from, placeholder);
+                RecordFormatter.appendValue(buffer, arguments[argument++]);
+                from = placeholder + 2;
+            }
+        }
+        return buffer.append(pattern, from, pattern.length());
+    }
+
+    private static boolean isEscaped(String pattern, int index) {
+        return index > 0 && pattern.charAt(index - 1) == '\\';
+    }
+
+    private static boolean hasArray(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument != null && argument.getClass().isArray()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
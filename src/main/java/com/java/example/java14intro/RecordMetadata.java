@@ -0,0 +1,172 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cached alternative to NewReflectionApi.getRecordComponents(Class).
+ * Class::getRecordComponents goes through reflection and clones the component array on every call,
+ * here it is called once per type and the result is kept in a ClassValue together with
+ * method handles for the accessors and the canonical constructor.
+ * After the first lookup for a type, of(Class) and the accessor handles do not allocate
+ * (values of primitive components are still boxed by get(Object, int)).
+ */
+final class RecordMetadata {
+
+    private static final ClassValue<RecordMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected RecordMetadata computeValue(Class<?> type) {
+            return new RecordMetadata(type);
+        }
+    };
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<?> type;
+    private final List<RecordComponent> components;
+    private final String[] names;
+    private final Class<?>[] types;
+    private final MethodHandle[] accessors;
+    private final MethodHandle[] exactAccessors;
+    private final MethodHandle canonicalConstructor;
+
+    private RecordMetadata(Class<?> type) {
+        this.type = type;
+        RecordComponent[] recordComponents = NewReflectionApi.getRecordComponents(type);
+        this.components = Collections.unmodifiableList(Arrays.asList(recordComponents));
+        this.names = new String[recordComponents.length];
+        this.types = new Class<?>[recordComponents.length];
+        this.accessors = new MethodHandle[recordComponents.length];
+        this.exactAccessors = new MethodHandle[recordComponents.length];
+        if (!type.isRecord()) {
+            this.canonicalConstructor = null;
+            return;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (int i = 0; i < recordComponents.length; i++) {
+                names[i] = recordComponents[i].getName();
+                types[i] = recordComponents[i].getType();
+                MethodHandle accessor = lookup.unreflect(recordComponents[i].getAccessor());
+                exactAccessors[i] = accessor.asType(MethodType.methodType(types[i], Object.class));
+                accessors[i] = accessor.asType(ACCESSOR_TYPE);
+            }
+            this.canonicalConstructor = lookup.findConstructor(type, MethodType.methodType(void.class, types))
+                    .asSpreader(Object[].class, types.length)
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot access components of record " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns cached metadata for the given class.
+     * For a class that is not a record the metadata has no components, the same as NewReflectionApi does.
+     */
+    public static RecordMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public boolean isRecord() {
+        return canonicalConstructor != null;
+    }
+
+    public int size() {
+        return accessors.length;
+    }
+
+    /**
+     * Record components in declaration order, the list is not copied on each call.
+     */
+    public List<RecordComponent> components() {
+        return components;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Index of the component with the given name.
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " has no component " + name);
+    }
+
+    public Class<?> componentType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Accessor of the component with the given index, adapted to the (Object)Object type,
+     * so it can be called with invokeExact.
+     */
+    public MethodHandle accessor(int index) {
+        return accessors[index];
+    }
+
+    /**
+     * Accessor of the component with the given index adapted to the (Object)componentType type,
+     * e.g. (Object)int for an int component, so primitive values are not boxed.
+     */
+    public MethodHandle exactAccessor(int index) {
+        return exactAccessors[index];
+    }
+
+    /**
+     * Canonical constructor adapted to the (Object[])Object type.
+     */
+    public MethodHandle canonicalConstructor() {
+        requireRecord();
+        return canonicalConstructor;
+    }
+
+    /**
+     * Returns the value of the component with the given index.
+     */
+    public Object get(Object record, int index) {
+        try {
+            return (Object) accessors[index].invokeExact(record);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot read component " + names[index] + " of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a record through its canonical constructor.
+     * Validation done by a compact constructor (see Person) is performed as usual.
+     */
+    public Object newInstance(Object... values) {
+        requireRecord();
+        try {
+            return (Object) canonicalConstructor.invokeExact(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot create record " + type.getName(), e);
+        }
+    }
+
+    private void requireRecord() {
+        if (canonicalConstructor == null) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Filter, projection, group-by and aggregation over a list of records of any type,
+ * with components addressed by name (see NewReflectionApi) and read through the accessor method handles
+ * of RecordMetadata instead of reflective calls. Numeric aggregations read primitive components without boxing.
+ *
+ *     RecordQuery.of(RecordExample.class).where("name", String.class, name -> name.startsWith("a"))
+ *             .count(records, "shape");
+ *
+ * A query runs in one of three modes: sequential stream, parallel stream or a fork/join split of the list.
+ * The parallel modes run on the given ForkJoinPool, so the number of cores used is the parallelism of the pool.
+ * Group-by results are in encounter order of the list in every mode.
+ * The fork/join mode reads the list by index, use lists with fast get(int) like ArrayList.
+ */
+final class RecordQuery<R extends Record> {
+
+    enum Mode {
+        SEQUENTIAL, PARALLEL_STREAM, FORK_JOIN
+    }
+
+    private static final int FORK_JOIN_CHUNK = 8192;
+    private static final MethodType DOUBLE_ACCESSOR_TYPE = MethodType.methodType(double.class, Object.class);
+
+    private final Class<R> type;
+    private final RecordMetadata metadata;
+    private final Predicate<R> filter;
+    private final Mode mode;
+    private final ForkJoinPool pool;
+
+    private RecordQuery(Class<R> type, Predicate<R> filter, Mode mode, ForkJoinPool pool) {
+        this.type = type;
+        this.metadata = RecordMetadata.of(type);
+        this.filter = filter;
+        this.mode = mode;
+        this.pool = pool;
+    }
+
+    public static <R extends Record> RecordQuery<R> of(Class<R> type) {
+        return new RecordQuery<>(type, null, Mode.SEQUENTIAL, ForkJoinPool.commonPool());
+    }
+
+    public RecordQuery<R> mode(Mode mode) {
+        return new RecordQuery<>(type, filter, mode, pool);
+    }
+
+    public RecordQuery<R> mode(Mode mode, ForkJoinPool pool) {
+        return new RecordQuery<>(type, filter, mode, pool);
+    }
+
+    /**
+     * Adds a condition on one component, conditions are combined with and.
+     * Values of primitive components are boxed for the predicate, use the wrapper type, e.g. Integer for int.
+     */
+    public <T> RecordQuery<R> where(String component, Class<T> componentType, Predicate<? super T> predicate) {
+        Function<R, Object> accessor = component(component);
+        Predicate<R> condition = record -> predicate.test(componentType.cast(accessor.apply(record)));
+        return new RecordQuery<>(type, filter == null ? condition : filter.and(condition), mode, pool);
+    }
+
+    /**
+     * Accessor of a component as a function, e.g. for a projection or a group-by key.
+     */
+    public Function<R, Object> component(String name) {
+        MethodHandle accessor = metadata.accessor(metadata.indexOf(name));
+        return record -> {
+            try {
+                return (Object) accessor.invokeExact((Object) record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("cannot read " + name + " of " + type.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * Accessor of a numeric component (byte, short, char, int, long, float, double),
+     * the value is widened to double without boxing.
+     */
+    public ToDoubleFunction<R> numericComponent(String name) {
+        int index = metadata.indexOf(name);
+        Class<?> componentType = metadata.componentType(index);
+        if (!componentType.isPrimitive() || componentType == boolean.class) {
+            throw new IllegalArgumentException(name + " of " + type.getName() + " is not numeric");
+        }
+        MethodHandle accessor = metadata.exactAccessor(index).asType(DOUBLE_ACCESSOR_TYPE);
+        return record -> {
+            try {
+                return (double) accessor.invokeExact((Object) record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("cannot read " + name + " of " + type.getName(), e);
+            }
+        };
+    }
+
+    public List<R> filter(List<? extends R> records) {
+        return collect(records, Collectors.toList());
+    }
+
+    public long count(List<? extends R> records) {
+        return collect(records, Collectors.counting());
+    }
+
+    public List<Object> select(List<? extends R> records, String component) {
+        return collect(records, Collectors.mapping(component(component), Collectors.toList()));
+    }
+
+    /**
+     * Projection of several components, one array of values per record.
+     */
+    public List<Object[]> select(List<? extends R> records, String... components) {
+        List<Function<R, Object>> accessors = new ArrayList<>(components.length);
+        for (String component : components) {
+            accessors.add(component(component));
+        }
+        return collect(records, Collectors.mapping(record -> {
+            Object[] values = new Object[accessors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = accessors.get(i).apply(record);
+            }
+            return values;
+        }, Collectors.toList()));
+    }
+
+    public Map<Object, List<R>> groupBy(List<? extends R> records, String component) {
+        return aggregate(records, component, Collectors.toList());
+    }
+
+    public Map<Object, Long> count(List<? extends R> records, String groupBy) {
+        return aggregate(records, groupBy, Collectors.counting());
+    }
+
+    public Map<Object, DoubleSummaryStatistics> summarize(List<? extends R> records, String groupBy, String numeric) {
+        return aggregate(records, groupBy, Collectors.summarizingDouble(numericComponent(numeric)));
+    }
+
+    /**
+     * Groups records by a component and reduces every group with the collector.
+     * Records with a null component form a group with the null key.
+     */
+    public <A> Map<Object, A> aggregate(List<? extends R> records, String groupBy, Collector<? super R, ?, A> downstream) {
+        return collect(records, groupingBy(component(groupBy), downstream));
+    }
+
+    /**
+     * Runs any collector over the records that match the conditions, in the mode of the query.
+     */
+    public <A> A collect(List<? extends R> records, Collector<? super R, ?, A> collector) {
+        Collector<R, ?, A> filtered = filter == null ? narrow(collector) : Collectors.filtering(filter, collector);
+        return switch (mode) {
+            case SEQUENTIAL -> records.stream().collect(filtered);
+            case PARALLEL_STREAM -> pool.submit(() -> records.parallelStream().collect(filtered)).join();
+            case FORK_JOIN -> forkJoin(records, filtered);
+        };
+    }
+
+    /**
+     * Collectors.groupingBy into a LinkedHashMap, except that null keys are allowed.
+     */
+    private static <T, K, C, A> Collector<T, ?, Map<K, A>> groupingBy(Function<? super T, ? extends K> classifier,
+                                                                   Collector<? super T, C, A> downstream) {
+        BiConsumer<C, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<C> combiner = downstream.combiner();
+        return Collector.<T, LinkedHashMap<K, C>, Map<K, A>>of(
+                LinkedHashMap::new,
+                (groups, record) -> {
+                    K key = classifier.apply(record);
+                    C container = groups.get(key);
+                    if (container == null && !groups.containsKey(key)) {
+                        container = downstream.supplier().get();
+                        groups.put(key, container);
+                    }
+                    accumulator.accept(container, record);
+                },
+                (left, right) -> {
+                    right.forEach((key, container) -> {
+                        if (left.containsKey(key)) {
+                            left.put(key, combiner.apply(left.get(key), container));
+                        } else {
+                            left.put(key, container);
+                        }
+                    });
+                    return left;
+                },
+                groups -> {
+                    Function<C, A> finisher = downstream.finisher();
+                    Map<K, A> result = new LinkedHashMap<>(groups.size() * 4 / 3 + 1);
+                    groups.forEach((key, container) -> result.put(key, finisher.apply(container)));
+                    return result;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, A> Collector<R, ?, A> narrow(Collector<? super R, ?, A> collector) {
+        return (Collector<R, ?, A>) collector;
+    }
+
+    private <C, A> A forkJoin(List<? extends R> records, Collector<R, C, A> collector) {
+        C container = pool.invoke(new Chunk<>(records, collector, 0, records.size()));
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * Accumulates a range of the list into one container, halves are merged with the combiner of the collector
+     * in list order, so the result is the same as the sequential one.
+     */
+    private static final class Chunk<T, C> extends RecursiveTask<C> {
+        private final List<? extends T> records;
+        private final Collector<T, C, ?> collector;
+        private final int from;
+        private final int to;
+
+        Chunk(List<? extends T> records, Collector<T, C, ?> collector, int from, int to) {
+            this.records = records;
+            this.collector = collector;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected C compute() {
+            if (to - from <= FORK_JOIN_CHUNK) {
+                C container = collector.supplier().get();
+                BiConsumer<C, T> accumulator = collector.accumulator();
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(container, records.get(i));
+                }
+                return container;
+            }
+            int middle = (from + to) >>> 1;
+            Chunk<T, C> right = new Chunk<>(records, collector, middle, to);
+            right.fork();
+            C left = new Chunk<>(records, collector, from, middle).compute();
+            return collector.combiner().apply(left, right.join());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.java.example.java14intro;
 
 import lombok.Setter;
+import lombok.Value;
 import org.javatuples.Pair;
 
 import java.lang.reflect.RecordComponent;
@@ -20,7 +21,7 @@ public class Records {
  * We can create a class with instance fields, constructor, toString(), hashCode(), equals() and getters.
  * That requires a lot of boilerplate code.
  */
-final class RecordsExample {
+final class RecordsExample implements StringBuilderFormattable {
     private final String name;
     private final String shape;
 
@@ -37,6 +38,14 @@ final class RecordsExample {
                 '}';
     }
 
+    /**
+     * The same text as toString(), appended without intermediate strings (see RecordFormatter).
+     */
+    @Override
+    public StringBuilder formatTo(StringBuilder buffer) {
+        return buffer.append("RecordsExample{name='").append(name).append("', shape='").append(shape).append("'}");
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(name, shape);
@@ -66,6 +75,40 @@ final class RecordsExample {
  */
 record RecordExample(String name, String shape) {}
 
+/**
+ * RecordExample with the strings encoded by CompactStrings: two longs in the record instead of
+ * two references to String objects. equals() and hashCode() compare the codes.
+ * The canonical constructor accepts only codes returned by CompactStrings.encode().
+ */
+record CompactRecordExample(long name, long shape) {
+
+    public CompactRecordExample {
+        CompactStrings.check(name);
+        CompactStrings.check(shape);
+    }
+
+    static CompactRecordExample of(String name, String shape) {
+        return new CompactRecordExample(CompactStrings.encode(name), CompactStrings.encode(shape));
+    }
+
+    String nameString() {
+        return CompactStrings.decode(name);
+    }
+
+    String shapeString() {
+        return CompactStrings.decode(shape);
+    }
+
+    RecordExample toRecordExample() {
+        return new RecordExample(nameString(), shapeString());
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRecordExample[name=" + nameString() + ", shape=" + shapeString() + "]";
+    }
+}
+
 /**
  *  The record can be without components (arguments).
  */
@@ -85,14 +128,17 @@ record Bill(String address) {
  */
 record Restaurant () {
 
-    private static int instanceCounter = 0;
+    /**
+     * A plain static int counter loses updates when restaurants are created concurrently.
+     */
+    private static final InstanceCounter instanceCounter = InstanceCounter.of(Restaurant.class);
 
     public Restaurant {
-        instanceCounter++;
+        instanceCounter.increment();
     }
 
     public static int getInstanceCounter() {
-        return instanceCounter;
+        return (int) instanceCounter.count();
     }
 
     public void testInstanceVariableAccessibility() {
@@ -107,6 +153,17 @@ record Restaurant () {
  */
 record Person(String firstName, String secondName) {
 
+    /**
+     * The invariant of the compact constructor as rules for batch ingestion:
+     * invalid rows are reported without creating an exception per row.
+     */
+    static final BulkValidator<Person> VALIDATOR = BulkValidator.builder(Person.class)
+            .check("firstName", String.class, name -> name != null && name.length() >= 4,
+                    "first name length is less then 4")
+            .check("secondName", String.class, name -> name != null && name.length() >= 4,
+                    "second name length is less then 4")
+            .build();
+
     public Person {
         if (firstName.length() < 4 || secondName.length() < 4) {
             throw new IllegalArgumentException("first or second name length is less then 4");
@@ -115,9 +172,13 @@ record Person(String firstName, String secondName) {
 //        this.secondName = secondName;
     }
 
+    /**
+     * A constant hash (e.g. return 18) is valid, but puts every Person into one HashMap bucket.
+     * RecordHashing spreads persons over buckets and stays consistent with the generated equals().
+     */
     @Override
     public int hashCode() {
-        return 18;
+        return RecordHashing.hash(firstName, secondName);
     }
 }
 
@@ -146,6 +207,34 @@ record Administrator(String firstName, String secondName) {
     }
 }
 
+/**
+ * Administrator with the names encoded by CompactStrings, a missing second name is CompactStrings.NULL.
+ */
+record CompactAdministrator(long firstName, long secondName) {
+
+    public CompactAdministrator {
+        CompactStrings.check(firstName);
+        CompactStrings.check(secondName);
+    }
+
+    static CompactAdministrator of(String firstName, String secondName) {
+        return new CompactAdministrator(CompactStrings.encode(firstName), CompactStrings.encode(secondName));
+    }
+
+    String firstNameString() {
+        return CompactStrings.decode(firstName);
+    }
+
+    String secondNameString() {
+        return CompactStrings.decode(secondName);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactAdministrator[firstName=" + firstNameString() + ", secondName=" + secondNameString() + "]";
+    }
+}
+
 /**
  *  Auxiliary class to be used with generic record example below.
  */
@@ -161,6 +250,20 @@ class Triangle {
 record Shape<T>(T shape) {
 }
 
+/**
+ *  Type arguments can't be primitive: Shape<Integer> boxes every int payload.
+ *  Records specialized for a primitive component keep the value in the record itself,
+ *  Shapes.of(...) picks the specialization by the argument type.
+ */
+record IntShape(int shape) {
+}
+
+record LongShape(long shape) {
+}
+
+record DoubleShape(double shape) {
+}
+
 /**
  *  Nested records are declared static.
  *  Check generated code out.
@@ -178,6 +281,8 @@ class NewReflectionApi {
 
     /**
      * RecordComponent class has information about accessor method, annotations, field name and so on.
+     * Every call goes through reflection and returns a new copy of the array,
+     * RecordMetadata.of(Class) caches components per type when they are needed more than once.
      */
     public static RecordComponent[] getRecordComponents(Class clazz) {
         if (clazz.isRecord()) {
@@ -202,3 +307,14 @@ class RecordsAlternative {
         System.out.println(personRecord);
     }
 }
+
+/**
+ * Lombok @Value is one more alternative to java records.
+ * It generates the same members as RecordsExample above, but at compile time through annotation processing.
+ * Unlike records, getters follow java bean naming: getName() instead of name().
+ */
+@Value
+class LombokValueExample {
+    String name;
+    String shape;
+}
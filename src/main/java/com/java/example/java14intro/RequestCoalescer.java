@@ -0,0 +1,92 @@
+package com.java.example.java14intro;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a handler once for identical concurrent requests: the first caller for a key runs the handler,
+ * callers that arrive while it runs, or within the window after it completed, get the same result.
+ * A failed call is not shared with later callers, they run the handler again.
+ * Keys stay in the map after their window, use it for a bounded set of keys such as endpoint paths.
+ */
+final class RequestCoalescer<K, V> {
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    RequestCoalescer(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public V get(K key, Supplier<? extends V> handler) {
+        while (true) {
+            Call<V> call = calls.get(key);
+            if (call == null || call.isExpired(System.nanoTime(), windowNanos)) {
+                Call<V> fresh = new Call<>();
+                boolean won = call == null ? calls.putIfAbsent(key, fresh) == null : calls.replace(key, call, fresh);
+                if (!won) {
+                    continue;
+                }
+                executions.increment();
+                return fresh.run(handler, () -> calls.remove(key, fresh));
+            }
+            coalesced.increment();
+            return call.join();
+        }
+    }
+
+    /**
+     * Number of handler executions.
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Number of requests answered with the result of another request.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private static final class Call<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAt;
+        private volatile boolean completed;
+
+        V run(Supplier<? extends V> handler, Runnable onFailure) {
+            try {
+                V value = handler.get();
+                completedAt = System.nanoTime();
+                completed = true;
+                result.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                onFailure.run();
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        boolean isExpired(long now, long windowNanos) {
+            return completed && now - completedAt > windowNanos;
+        }
+
+        V join() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.java.example.java14intro;
+
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encoded responses by request path for ResponseCacheFilter: body bytes, content type and a strong ETag
+ * (MD5 of the body), computed once when the response is stored.
+ * Entries expire after their time to live and the bodies are bounded in bytes:
+ * when a new entry does not fit, expired and then least recently used entries are evicted.
+ * Lookups do not lock or allocate, eviction scans the entries, so the cache is meant for a bounded set of paths.
+ */
+final class ResponseCache {
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the entry stored for the path, or null when there is none or it expired at now (System.nanoTime).
+     */
+    Entry get(String path, long now) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.isExpired(now)) {
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = now;
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Stores the response for the path and returns its entry,
+     * a body larger than the whole cache is returned in an entry but not stored.
+     */
+    Entry put(String path, String contentType, byte[] body, long ttlNanos, long now) {
+        Entry entry = new Entry(contentType, body, '"' + DigestUtils.md5DigestAsHex(body) + '"', now + ttlNanos, now);
+        if (body.length > maxBytes) {
+            return entry;
+        }
+        Entry previous = entries.put(path, entry);
+        bytes.addAndGet(body.length - (previous == null ? 0 : previous.body.length));
+        evict(now);
+        return entry;
+    }
+
+    void invalidate(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null && entries.remove(path, entry)) {
+            bytes.addAndGet(-entry.body.length);
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Bytes of the stored bodies.
+     */
+    long bytes() {
+        return bytes.get();
+    }
+
+    private void evict(long now) {
+        while (bytes.get() > maxBytes && !entries.isEmpty()) {
+            Map.Entry<String, Entry> victim = null;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (candidate.getValue().isExpired(now)) {
+                    victim = candidate;
+                    break;
+                }
+                if (victim == null || candidate.getValue().lastAccess - victim.getValue().lastAccess < 0) {
+                    victim = candidate;
+                }
+            }
+            if (victim != null && entries.remove(victim.getKey(), victim.getValue())) {
+                bytes.addAndGet(-victim.getValue().body.length);
+                evictions.increment();
+            }
+        }
+    }
+
+    static final class Entry {
+        private final String contentType;
+        private final byte[] body;
+        private final String etag;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(String contentType, byte[] body, String etag, long expiresAt, long lastAccess) {
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        String contentType() {
+            return contentType;
+        }
+
+        /**
+         * The encoded body, shared by all requests: it must not be modified.
+         */
+        byte[] body() {
+            return body;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        /**
+         * True when an If-None-Match header value matches the ETag: "*" or a list of tags,
+         * compared with the weak comparison of RFC 7232, so W/"tag" matches "tag".
+         */
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            int length = ifNoneMatch.length();
+            int position = 0;
+            while (position < length) {
+                char c = ifNoneMatch.charAt(position);
+                if (c == ' ' || c == '\t' || c == ',') {
+                    position++;
+                } else if (c == '*') {
+                    return true;
+                } else {
+                    if (ifNoneMatch.startsWith("W/", position)) {
+                        position += 2;
+                    }
+                    int end = ifNoneMatch.indexOf(',', position);
+                    if (end < 0) {
+                        end = length;
+                    }
+                    int tagEnd = end;
+                    while (tagEnd > position && (ifNoneMatch.charAt(tagEnd - 1) == ' ' || ifNoneMatch.charAt(tagEnd - 1) == '\t')) {
+                        tagEnd--;
+                    }
+                    if (tagEnd - position == etag.length() && ifNoneMatch.startsWith(etag, position)) {
+                        return true;
+                    }
+                    position = end;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.java.example.java14intro;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * answers GET requests of @CachedResponse handlers from ResponseCache in the servlet stack:
+ * a hit writes the pre-encoded bytes without reaching the DispatcherServlet, so there is no handler call,
+ * message conversion or string encoding, and If-None-Match requests that match the ETag get 304 without a body;
+ * a miss runs the handler into a buffer and stores the body when the status is 200;
+ * the handler must declare one produced media type, the cache key is the path only;
+ * requests whose Accept header does not allow that type go to the DispatcherServlet;
+ * requests with a query string are not cached;
+ * the handlers are checked once all beans are created, so a misconfigured @CachedResponse fails the startup;
+ * runs inside RestMetricsFilter so hits are still recorded, turned off with example.rest.cache.enabled=false
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "example.rest.cache.enabled", matchIfMissing = true)
+class ResponseCacheFilter implements Filter, SmartInitializingSingleton {
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final long defaultTtlNanos;
+    private final ResponseCache cache;
+    private volatile Map<String, Mapping> mappings;
+
+    /**
+     * Time to live and the only media type produced by the handler of one path.
+     */
+    private record Mapping(long ttlNanos, MediaType produces) {
+    }
+
+    ResponseCacheFilter(ObjectProvider<RequestMappingHandlerMapping> handlerMapping,
+                        @Value("${example.rest.cache.ttl}") Duration ttl,
+                        @Value("${example.rest.cache.max-bytes}") long maxBytes) {
+        this.handlerMapping = handlerMapping;
+        this.defaultTtlNanos = ttl.toNanos();
+        this.cache = new ResponseCache(maxBytes);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Map<String, Mapping> mappings = this.mappings;
+        Mapping mapping = mappings != null && "GET".equals(request.getMethod()) && request.getQueryString() == null
+                ? mappings.get(path) : null;
+        if (mapping == null || !accepts(request.getHeader("Accept"), mapping.produces())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ResponseCache.Entry entry = cache.get(path, System.nanoTime());
+        if (entry != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+            write(entry, request, response);
+            return;
+        }
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        if (buffered.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted()) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        entry = cache.put(path, mapping.produces().toString(), buffered.getContentAsByteArray(),
+                mapping.ttlNanos(), System.nanoTime());
+        write(entry, request, response);
+    }
+
+    ResponseCache cache() {
+        return cache;
+    }
+
+    /**
+     * True when the Accept header allows the produced type, otherwise the request goes to the DispatcherServlet,
+     * which answers 406 Not Acceptable.
+     */
+    private static boolean accepts(String accept, MediaType produces) {
+        if (accept == null || accept.equals("*/*") || accept.equals(produces.toString())) {
+            return true;
+        }
+        try {
+            for (MediaType acceptable : MediaType.parseMediaTypes(accept)) {
+                if (acceptable.includes(produces)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static void write(ResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader("ETag", entry.etag());
+        if (entry.matches(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    /**
+     * Resolves the @CachedResponse handlers by path, when all handlers are registered.
+     * Requests that arrive before are not cached.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        mappings = scan();
+    }
+
+    private Map<String, Mapping> scan() {
+        Map<String, Mapping> mappings = new HashMap<>();
+        handlerMapping.getObject().getHandlerMethods().forEach((info, handler) -> {
+            CachedResponse cached = handler.getMethodAnnotation(CachedResponse.class);
+            if (cached == null) {
+                return;
+            }
+            if (!info.getMethodsCondition().getMethods().equals(Set.of(RequestMethod.GET))) {
+                throw new IllegalStateException("@CachedResponse handler " + handler + " must map GET requests only");
+            }
+            Class<?> returnType = handler.getMethod().getReturnType();
+            if (returnType != String.class && returnType != byte[].class) {
+                throw new IllegalStateException("@CachedResponse handler " + handler + " must return String or byte[]");
+            }
+            // the key is the path only, so all clients must get the same representation
+            Set<MediaType> produces = info.getProducesCondition().getProducibleMediaTypes();
+            MediaType produced = produces.size() == 1 ? produces.iterator().next() : null;
+            if (produced == null || produced.isWildcardType() || produced.isWildcardSubtype()) {
+                throw new IllegalStateException("@CachedResponse handler " + handler
+                        + " must produce one concrete media type, not " + produces);
+            }
+            long ttl = cached.ttlSeconds() < 0 ? defaultTtlNanos : TimeUnit.SECONDS.toNanos(cached.ttlSeconds());
+            for (String pattern : info.getPatternsCondition().getPatterns()) {
+                if (pattern.indexOf('{') >= 0 || pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0) {
+                    throw new IllegalStateException("@CachedResponse handler " + handler + " must have a fixed path, not " + pattern);
+                }
+                mappings.put(pattern, new Mapping(ttl, produced));
+            }
+        });
+        return Map.copyOf(mappings);
+    }
+}
@@ -0,0 +1,151 @@
+package com.java.example.java14intro;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path metrics of the rest layer, recorded by RestMetricsFilter and exposed by RestMetricsRest:
+ * latency and allocated bytes per request as HdrHistogram histograms, errors and in-flight requests.
+ * Recording is wait-free (Recorder, LongAdder) and does not allocate once an endpoint was seen,
+ * histograms are only merged when they are read.
+ */
+@Component
+class RestMetrics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final LongAdder inFlight = new LongAdder();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Endpoint>> endpoints = new ConcurrentHashMap<>();
+
+    void begin() {
+        inFlight.increment();
+    }
+
+    /**
+     * Records a finished request, allocatedBytes is negative when allocation is not measured.
+     */
+    void end(String method, String uri, int status, long nanos, long allocatedBytes) {
+        inFlight.decrement();
+        endpoint(method, uri).record(status, nanos, allocatedBytes);
+    }
+
+    long inFlight() {
+        return inFlight.sum();
+    }
+
+    Endpoint endpoint(String method, String uri) {
+        ConcurrentHashMap<String, Endpoint> byUri = endpoints.get(method);
+        if (byUri == null) {
+            byUri = endpoints.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        Endpoint endpoint = byUri.get(uri);
+        if (endpoint == null) {
+            endpoint = byUri.computeIfAbsent(uri, u -> new Endpoint(method, u));
+        }
+        return endpoint;
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format (version 0.0.4), latencies in seconds.
+     */
+    String prometheus() {
+        Map<String, Endpoint> sorted = new TreeMap<>();
+        endpoints.values().forEach(byUri -> byUri.values().forEach(e -> sorted.put(e.uri + ' ' + e.method, e)));
+
+        StringBuilder latency = new StringBuilder()
+                .append("# HELP http_server_requests_seconds Request latency.\n")
+                .append("# TYPE http_server_requests_seconds summary\n");
+        StringBuilder allocation = new StringBuilder()
+                .append("# HELP http_server_requests_allocated_bytes Bytes allocated by the request thread.\n")
+                .append("# TYPE http_server_requests_allocated_bytes summary\n");
+        StringBuilder errors = new StringBuilder()
+                .append("# HELP http_server_requests_errors_total Requests answered with a 5xx status.\n")
+                .append("# TYPE http_server_requests_errors_total counter\n");
+        for (Endpoint endpoint : sorted.values()) {
+            Endpoint.Snapshot snapshot = endpoint.snapshot();
+            String labels = "method=\"" + endpoint.method + "\",uri=\"" + escape(endpoint.uri) + '"';
+            summary(latency, "http_server_requests_seconds", labels, snapshot.latencies, snapshot.latencySum, 1e-9);
+            if (snapshot.allocations.getTotalCount() > 0) {
+                summary(allocation, "http_server_requests_allocated_bytes", labels,
+                        snapshot.allocations, snapshot.allocatedSum, 1);
+            }
+            errors.append("http_server_requests_errors_total{").append(labels).append("} ")
+                    .append(snapshot.errors).append('\n');
+        }
+        return latency.append(allocation).append(errors)
+                .append("# HELP http_server_requests_in_flight Requests being processed.\n")
+                .append("# TYPE http_server_requests_in_flight gauge\n")
+                .append("http_server_requests_in_flight ").append(inFlight()).append('\n')
+                .toString();
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, Histogram histogram, long sum, double scale) {
+        for (double quantile : QUANTILES) {
+            out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(histogram.getValueAtPercentile(quantile * 100) * scale).append('\n');
+        }
+        out.append(name).append("_sum{").append(labels).append("} ").append(sum * scale).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(histogram.getTotalCount()).append('\n');
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Metrics of one method and uri pattern.
+     * Writers record into Recorders, a reader swaps their interval histograms
+     * and adds them to the totals of the endpoint.
+     */
+    static final class Endpoint {
+        private final String method;
+        private final String uri;
+        private final Recorder latencyRecorder = new Recorder(3);
+        private final Recorder allocationRecorder = new Recorder(3);
+        private final LongAdder latencySum = new LongAdder();
+        private final LongAdder allocatedSum = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private final Histogram latencies = new Histogram(3);
+        private final Histogram allocations = new Histogram(3);
+        private Histogram latencyInterval;
+        private Histogram allocationInterval;
+
+        private Endpoint(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        void record(int status, long nanos, long allocatedBytes) {
+            latencyRecorder.recordValue(nanos);
+            latencySum.add(nanos);
+            if (allocatedBytes >= 0) {
+                allocationRecorder.recordValue(allocatedBytes);
+                allocatedSum.add(allocatedBytes);
+            }
+            if (status >= 500) {
+                errors.increment();
+            }
+        }
+
+        synchronized Snapshot snapshot() {
+            latencyInterval = latencyRecorder.getIntervalHistogram(latencyInterval);
+            latencies.add(latencyInterval);
+            allocationInterval = allocationRecorder.getIntervalHistogram(allocationInterval);
+            allocations.add(allocationInterval);
+            return new Snapshot(latencies.copy(), latencySum.sum(), allocations.copy(), allocatedSum.sum(), errors.sum());
+        }
+
+        /**
+         * Totals since start, latencies in nanoseconds.
+         */
+        record Snapshot(Histogram latencies, long latencySum, Histogram allocations, long allocatedSum, long errors) {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.java.example.java14intro;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * records every request of the servlet stack (classic and async modes) into RestMetrics:
+ * latency, status and bytes allocated by the request thread (com.sun.management.ThreadMXBean);
+ * async requests are recorded when they complete, allocation of the async executor thread is not included;
+ * runs outside ResponseCacheFilter, so cached responses are recorded too;
+ * turned off with example.metrics.enabled=false
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(value = "example.metrics.enabled", matchIfMissing = true)
+class RestMetricsFilter implements Filter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final RestMetrics metrics;
+
+    RestMetricsFilter(RestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        long start = System.nanoTime();
+        long allocatedBefore = allocatedBytes();
+        metrics.begin();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        end(request, response.getStatus(), start, allocated);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                end(request, failed ? 500 : response.getStatus(), start, allocated);
+            }
+        }
+    }
+
+    private void end(HttpServletRequest request, int status, long start, long allocated) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metrics.end(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString(), status,
+                System.nanoTime() - start, allocated);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.java.example.java14intro;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * rest controller that exposes RestMetrics for a Prometheus scraper
+ */
+@RestController
+public class RestMetricsRest {
+
+    private final RestMetrics metrics;
+
+    RestMetricsRest(RestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping(value = "/metrics/prometheus", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String prometheus() {
+        return metrics.prometheus();
+    }
+
+}
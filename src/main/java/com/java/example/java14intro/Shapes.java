@@ -0,0 +1,384 @@
+package com.java.example.java14intro;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Factory of Shape records and collections of primitive shapes.
+ * of(int), of(long) and of(double) are chosen by overload resolution at compile time
+ * and return IntShape, LongShape and DoubleShape, other payloads get the generic Shape<T>.
+ * IntShapes, LongShapes and DoubleShapes keep payloads in one primitive array, without a record per element,
+ * bulk operations run over the array; they are not thread-safe.
+ */
+final class Shapes {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Shapes() {
+    }
+
+    public static IntShape of(int shape) {
+        return new IntShape(shape);
+    }
+
+    public static LongShape of(long shape) {
+        return new LongShape(shape);
+    }
+
+    public static DoubleShape of(double shape) {
+        return new DoubleShape(shape);
+    }
+
+    public static <T> Shape<T> of(T shape) {
+        return new Shape<>(shape);
+    }
+
+    static final class IntShapes {
+        private int[] values;
+        private int size;
+
+        IntShapes() {
+            this(INITIAL_CAPACITY);
+        }
+
+        IntShapes(int capacity) {
+            values = new int[Math.max(capacity, 1)];
+        }
+
+        public static IntShapes of(int... shapes) {
+            IntShapes result = new IntShapes(shapes.length);
+            result.addAll(shapes);
+            return result;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void add(int shape) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = shape;
+        }
+
+        public void add(IntShape shape) {
+            add(shape.shape());
+        }
+
+        public void addAll(int[] shapes) {
+            if (size + shapes.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + shapes.length, size + (size >> 1)));
+            }
+            System.arraycopy(shapes, 0, values, size, shapes.length);
+            size += shapes.length;
+        }
+
+        public int getInt(int index) {
+            return values[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * Creates a record for the element, use getInt(int) to read the payload without allocation.
+         */
+        public IntShape get(int index) {
+            return new IntShape(getInt(index));
+        }
+
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        public int min() {
+            requireNotEmpty(size);
+            int min = values[0];
+            for (int i = 1; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        public int max() {
+            requireNotEmpty(size);
+            int max = values[0];
+            for (int i = 1; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        public void replaceAll(IntUnaryOperator operator) {
+            for (int i = 0; i < size; i++) {
+                values[i] = operator.applyAsInt(values[i]);
+            }
+        }
+
+        public IntShapes filter(IntPredicate predicate) {
+            IntShapes result = new IntShapes();
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(values[i])) {
+                    result.add(values[i]);
+                }
+            }
+            return result;
+        }
+
+        public void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+
+        public int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        public IntStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+
+    static final class LongShapes {
+        private long[] values;
+        private int size;
+
+        LongShapes() {
+            this(INITIAL_CAPACITY);
+        }
+
+        LongShapes(int capacity) {
+            values = new long[Math.max(capacity, 1)];
+        }
+
+        public static LongShapes of(long... shapes) {
+            LongShapes result = new LongShapes(shapes.length);
+            result.addAll(shapes);
+            return result;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void add(long shape) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = shape;
+        }
+
+        public void add(LongShape shape) {
+            add(shape.shape());
+        }
+
+        public void addAll(long[] shapes) {
+            if (size + shapes.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + shapes.length, size + (size >> 1)));
+            }
+            System.arraycopy(shapes, 0, values, size, shapes.length);
+            size += shapes.length;
+        }
+
+        public long getLong(int index) {
+            return values[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * Creates a record for the element, use getLong(int) to read the payload without allocation.
+         */
+        public LongShape get(int index) {
+            return new LongShape(getLong(index));
+        }
+
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        public long min() {
+            requireNotEmpty(size);
+            long min = values[0];
+            for (int i = 1; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        public long max() {
+            requireNotEmpty(size);
+            long max = values[0];
+            for (int i = 1; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        public void replaceAll(LongUnaryOperator operator) {
+            for (int i = 0; i < size; i++) {
+                values[i] = operator.applyAsLong(values[i]);
+            }
+        }
+
+        public LongShapes filter(LongPredicate predicate) {
+            LongShapes result = new LongShapes();
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(values[i])) {
+                    result.add(values[i]);
+                }
+            }
+            return result;
+        }
+
+        public void forEach(LongConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+
+        public long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        public LongStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+
+    static final class DoubleShapes {
+        private double[] values;
+        private int size;
+
+        DoubleShapes() {
+            this(INITIAL_CAPACITY);
+        }
+
+        DoubleShapes(int capacity) {
+            values = new double[Math.max(capacity, 1)];
+        }
+
+        public static DoubleShapes of(double... shapes) {
+            DoubleShapes result = new DoubleShapes(shapes.length);
+            result.addAll(shapes);
+            return result;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void add(double shape) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = shape;
+        }
+
+        public void add(DoubleShape shape) {
+            add(shape.shape());
+        }
+
+        public void addAll(double[] shapes) {
+            if (size + shapes.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + shapes.length, size + (size >> 1)));
+            }
+            System.arraycopy(shapes, 0, values, size, shapes.length);
+            size += shapes.length;
+        }
+
+        public double getDouble(int index) {
+            return values[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * Creates a record for the element, use getDouble(int) to read the payload without allocation.
+         */
+        public DoubleShape get(int index) {
+            return new DoubleShape(getDouble(index));
+        }
+
+        /**
+         * Plain left-to-right summation, the same result as a loop over Shape<Double> in list order.
+         */
+        public double sum() {
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        public double min() {
+            requireNotEmpty(size);
+            double min = values[0];
+            for (int i = 1; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        public double max() {
+            requireNotEmpty(size);
+            double max = values[0];
+            for (int i = 1; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        public void replaceAll(DoubleUnaryOperator operator) {
+            for (int i = 0; i < size; i++) {
+                values[i] = operator.applyAsDouble(values[i]);
+            }
+        }
+
+        public DoubleShapes filter(DoublePredicate predicate) {
+            DoubleShapes result = new DoubleShapes();
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(values[i])) {
+                    result.add(values[i]);
+                }
+            }
+            return result;
+        }
+
+        public void forEach(DoubleConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+
+        public double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        public DoubleStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+
+    private static void requireNotEmpty(int size) {
+        if (size == 0) {
+            throw new NoSuchElementException("no shapes");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.java.example.java14intro;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holder of the current snapshot of an immutable record graph, e.g. runtime configuration
+ * modelled with shallowly immutable records like Bill or RecordExample.
+ *
+ * A new graph is published with a release store and read with an acquire load (VarHandle),
+ * so a reader that sees a snapshot also sees every component written before it was published.
+ * Readers never block or retry: get() is a single load. Every published snapshot has a new version.
+ * Writers don't lock either, concurrent updates are serialized by compare-and-set,
+ * an update function can be called again when another writer won the race.
+ *
+ * Incremental changes are made with with(record, path, value): only the records on the path are copied,
+ * all other components of the new graph are the same instances as in the previous one.
+ */
+final class SnapshotRegistry<R extends Record> {
+
+    /**
+     * Published value with its version, versions start at 1 and grow by 1 with every update.
+     */
+    record Snapshot<R>(long version, R value) {
+    }
+
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(SnapshotRegistry.class, "current", Snapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // accessed through CURRENT
+    private Snapshot<R> current;
+
+    SnapshotRegistry(R initial) {
+        CURRENT.setRelease(this, new Snapshot<>(1, requireValue(initial)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Snapshot<R> snapshot() {
+        return (Snapshot<R>) CURRENT.getAcquire(this);
+    }
+
+    public R get() {
+        return snapshot().value();
+    }
+
+    public long version() {
+        return snapshot().version();
+    }
+
+    /**
+     * Replaces the current value, whatever it is.
+     */
+    public Snapshot<R> publish(R value) {
+        return update(previous -> value);
+    }
+
+    /**
+     * Publishes the result of the function applied to the current value.
+     * The function must be free of side effects, it is called again if the value changed in the meantime.
+     */
+    public Snapshot<R> update(UnaryOperator<R> function) {
+        while (true) {
+            Snapshot<R> previous = snapshot();
+            Snapshot<R> next = new Snapshot<>(previous.version() + 1, requireValue(function.apply(previous.value())));
+            if (CURRENT.weakCompareAndSetRelease(this, previous, next)) {
+                return next;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Sets one component at the given path, e.g. "limits.timeout" or "name", and publishes the new graph.
+     */
+    public Snapshot<R> with(String path, Object value) {
+        return update(previous -> with(previous, path, value));
+    }
+
+    /**
+     * Copy of the record with the component at the dot separated path replaced by the value.
+     * Records on the path are created through their canonical constructor (so compact constructor validation runs),
+     * the other components are shared with the original. Returns the record itself if the same instance is already there.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> T with(T record, String path, Object value) {
+        return (T) replace(record, path, 0, value);
+    }
+
+    private static Object replace(Object record, String path, int from, Object value) {
+        RecordMetadata metadata = RecordMetadata.of(record.getClass());
+        if (!metadata.isRecord()) {
+            throw new IllegalArgumentException(record.getClass().getName() + " at " + path.substring(0, from - 1)
+                    + " is not a record");
+        }
+        int dot = path.indexOf('.', from);
+        int index = metadata.indexOf(dot < 0 ? path.substring(from) : path.substring(from, dot));
+        Object old = metadata.get(record, index);
+        Object replacement;
+        if (dot < 0) {
+            replacement = value;
+        } else if (old == null) {
+            throw new IllegalArgumentException(path.substring(0, dot) + " is null");
+        } else {
+            replacement = replace(old, path, dot + 1, value);
+        }
+        if (replacement == old) {
+            return record;
+        }
+        Object[] values = new Object[metadata.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i == index ? replacement : metadata.get(record, i);
+        }
+        return metadata.newInstance(values);
+    }
+
+    private static <R> R requireValue(R value) {
+        if (value == null) {
+            throw new IllegalArgumentException("snapshot value must not be null");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,13 @@
+package com.java.example.java14intro;
+
+/**
+ * Object that can write its text form into a caller-supplied StringBuilder,
+ * recognized by RecordFormatter and RecordMessageConverter in place of toString().
+ */
+interface StringBuilderFormattable {
+
+    /**
+     * Appends the same text as toString() returns.
+     */
+    StringBuilder formatTo(StringBuilder buffer);
+}
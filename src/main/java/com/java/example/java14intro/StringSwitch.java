@@ -0,0 +1,211 @@
+package com.java.example.java14intro;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runtime equivalent of an arrow-form String switch expression:
+ *
+ *     case "virgin mobile", "orange" -> value;
+ *     default -> defaultValue;
+ *
+ * Arms can be loaded from configuration with parse(Reader, Function), one arm per line:
+ *
+ *     virgin mobile, orange -> 15 GB
+ *     default -> unknown cellular operator
+ *
+ * Like the compiler, it rejects duplicate labels and there is no fall-through between arms.
+ * Labels are placed with a two-level perfect hash (hash and displace) over String::hashCode:
+ * a lookup is one bucket read, one slot read and one equals(), whatever the number of labels.
+ * Labels that share a hashCode (e.g. "Aa" and "BB") cannot be separated by a perfect hash
+ * and go to a small overflow map.
+ * A table is immutable and can be shared between threads.
+ */
+final class StringSwitch<V> {
+
+    private static final String ARROW = "->";
+    private static final String DEFAULT = "default";
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    private final int[] displacements;
+    private final String[] labels;
+    private final Object[] values;
+    private final Map<String, V> overflow;
+    private final V defaultValue;
+    private final int size;
+
+    private StringSwitch(int[] displacements, String[] labels, Object[] values,
+                         Map<String, V> overflow, V defaultValue, int size) {
+        this.displacements = displacements;
+        this.labels = labels;
+        this.values = values;
+        this.overflow = overflow;
+        this.defaultValue = defaultValue;
+        this.size = size;
+    }
+
+    /**
+     * Builds a table from labels and their values, defaultValue is returned for unknown labels.
+     */
+    public static <V> StringSwitch<V> of(Map<String, V> cases, V defaultValue) {
+        Map<Integer, List<String>> byHash = new HashMap<>();
+        for (String label : cases.keySet()) {
+            byHash.computeIfAbsent(label.hashCode(), hash -> new ArrayList<>()).add(label);
+        }
+        Map<String, V> overflow = new HashMap<>();
+        List<String> perfect = new ArrayList<>();
+        for (List<String> sameHash : byHash.values()) {
+            perfect.add(sameHash.get(0));
+            for (int i = 1; i < sameHash.size(); i++) {
+                overflow.put(sameHash.get(i), cases.get(sameHash.get(i)));
+            }
+        }
+
+        int slotCount = Integer.highestOneBit(Math.max(1, perfect.size()) * 2 - 1) << 1;
+        int bucketCount = Integer.highestOneBit(Math.max(1, perfect.size() / 2)) << 1;
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String label : perfect) {
+            buckets.get(bucket(label.hashCode(), bucketCount)).add(label);
+        }
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            order[i] = i;
+        }
+        // the biggest buckets are placed first, while most slots are still free
+        Arrays.sort(order, Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        int[] displacements = new int[bucketCount];
+        String[] labels = new String[slotCount];
+        Object[] values = new Object[slotCount];
+        int[] candidateSlots = new int[perfect.size()];
+        for (int bucket : order) {
+            List<String> bucketLabels = buckets.get(bucket);
+            if (bucketLabels.isEmpty()) {
+                continue;
+            }
+            int displacement = displacement(bucketLabels, labels, candidateSlots);
+            displacements[bucket] = displacement;
+            for (int i = 0; i < bucketLabels.size(); i++) {
+                labels[candidateSlots[i]] = bucketLabels.get(i);
+                values[candidateSlots[i]] = cases.get(bucketLabels.get(i));
+            }
+        }
+        return new StringSwitch<>(displacements, labels, values,
+                overflow.isEmpty() ? Map.of() : overflow, defaultValue, cases.size());
+    }
+
+    /**
+     * Parses arms in the "label, label -> value" form, the "default" arm is required,
+     * as it is for a String switch expression. Empty lines and lines starting with # are skipped.
+     */
+    public static <V> StringSwitch<V> parse(Reader reader, Function<String, V> valueParser) throws IOException {
+        Map<String, V> cases = new LinkedHashMap<>();
+        V defaultValue = null;
+        boolean hasDefault = false;
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int arrow = line.indexOf(ARROW);
+            if (arrow < 0) {
+                throw new IllegalArgumentException("line " + lineNumber + ": '" + ARROW + "' expected");
+            }
+            V value = valueParser.apply(line.substring(arrow + ARROW.length()).strip());
+            String labels = line.substring(0, arrow).strip();
+            if (labels.equals(DEFAULT)) {
+                if (hasDefault) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": duplicate default label");
+                }
+                hasDefault = true;
+                defaultValue = value;
+                continue;
+            }
+            for (String label : labels.split(",")) {
+                String caseLabel = label.strip();
+                if (caseLabel.isEmpty()) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": empty case label");
+                }
+                if (cases.putIfAbsent(caseLabel, value) != null) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": duplicate case label " + caseLabel);
+                }
+            }
+        }
+        if (!hasDefault) {
+            throw new IllegalArgumentException("the switch does not have a default arm");
+        }
+        return of(cases, defaultValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(String label) {
+        int hash = label.hashCode();
+        int slot = slot(hash, displacements[bucket(hash, displacements.length)], labels.length);
+        String candidate = labels[slot];
+        if (candidate != null && candidate.hashCode() == hash && candidate.equals(label)) {
+            return (V) values[slot];
+        }
+        return overflow.isEmpty() ? defaultValue : overflow.getOrDefault(label, defaultValue);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public V defaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Finds a displacement that puts all labels of one bucket into distinct free slots.
+     */
+    private static int displacement(List<String> bucketLabels, String[] labels, int[] candidateSlots) {
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            if (fits(bucketLabels, labels, candidateSlots, displacement)) {
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("cannot place " + bucketLabels + " into the table");
+    }
+
+    private static boolean fits(List<String> bucketLabels, String[] labels, int[] candidateSlots, int displacement) {
+        for (int i = 0; i < bucketLabels.size(); i++) {
+            int slot = slot(bucketLabels.get(i).hashCode(), displacement, labels.length);
+            if (labels[slot] != null) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (candidateSlots[j] == slot) {
+                    return false;
+                }
+            }
+            candidateSlots[i] = slot;
+        }
+        return true;
+    }
+
+    private static int bucket(int hash, int bucketCount) {
+        // a different input than in slot(), so that labels of one bucket do not share slot bits
+        return RecordHashing.mix(hash + 0x7f4a7c15) & (bucketCount - 1);
+    }
+
+    private static int slot(int hash, int displacement, int slotCount) {
+        return RecordHashing.mix(hash ^ (displacement * 0x9e3779b9)) & (slotCount - 1);
+    }
+}
@@ -1,5 +1,7 @@
 package com.java.example.java14intro;
 
+import java.util.Map;
+
 /**
  * Official documentation: https://openjdk.java.net/jeps/361
  */
@@ -49,6 +51,28 @@ public class SwitchExpressions {
         }
     }
 
+    /**
+     * The same switch as an expression, to compare with the configuration below.
+     */
+    static String priceOfBusinessSubscription(String cellularOperator) {
+        return switch (cellularOperator) {
+            case "virgin mobile", "orange" -> "15$";
+            case "lynca" -> "20$";
+            case "vodaphone" -> "10$";
+            case "viking" -> "12$";
+            default -> "unknown cellular operator";
+        };
+    }
+
+    /**
+     * The arms of the switch above can be loaded from configuration (cellular-operators.txt).
+     * StringSwitch keeps the arrow-form semantics: several labels per arm, no fall-through, a default arm.
+     * A new operator does not require recompilation.
+     */
+    private static void printPriceOfBusinessSubscriptionFromConfiguration(String cellularOperator) {
+        System.out.println(CellularOperators.businessPrice(cellularOperator));
+    }
+
     /**
      * What is the problem with the existing switch statements?
      * Problem #2: variable defined inside one arm has a scope of an entire block.
@@ -159,7 +183,7 @@ public class SwitchExpressions {
     /**
      * Auxiliary enum to be used in printNameAssociatedWithId(Numbers) method below
      */
-    private enum Numbers {
+    enum Numbers {
         ONE,
         TWO,
         THREE
@@ -180,4 +204,15 @@ public class SwitchExpressions {
         System.out.println(name);
     }
 
+    /**
+     * The same lookup with the arms kept in an array indexed by ordinal(), see EnumSwitch.
+     * The table can be built or loaded at runtime and is still checked to cover every constant.
+     */
+    private static final EnumSwitch<Numbers, String> NAMES = EnumSwitch.of(Numbers.class,
+            Map.of(Numbers.ONE, "Tomas", Numbers.TWO, "John", Numbers.THREE, "Peter"));
+
+    private static void printNameAssociatedWithIdFromTable(Numbers id) {
+        System.out.println(NAMES.get(id));
+    }
+
 }
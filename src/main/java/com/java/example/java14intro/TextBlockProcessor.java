@@ -0,0 +1,173 @@
+package com.java.example.java14intro;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Runtime version of the text block rules described in TextBlocks, for multi-line templates loaded from disk:
+ * the result is the same as text.stripIndent().translateEscapes(), but the output is written once.
+ * - line terminators (\r\n, \r, \n) become \n;
+ * - the smallest indentation of the non-blank lines (and of the last line, even if blank) is removed,
+ *   unless the text ends with a line terminator (the closing delimiter at the start of its own line);
+ * - trailing whitespace is removed from every line, blank lines become empty;
+ * - escape sequences are translated, \s is a space and \ at the end of a line joins it with the next line.
+ *
+ * The input is read twice without copying, first to find the indentation, then to write the output.
+ * An invalid escape sequence fails with IllegalArgumentException, the same as translateEscapes().
+ */
+final class TextBlockProcessor {
+
+    private TextBlockProcessor() {
+    }
+
+    public static String process(CharSequence text) {
+        return processTo(text, new StringBuilder(text.length())).toString();
+    }
+
+    /**
+     * Processes a UTF-8 file through a memory mapping, the file is decoded once into a char buffer.
+     */
+    public static String process(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return process(StandardCharsets.UTF_8.newDecoder().decode(bytes));
+        }
+    }
+
+    public static StringBuilder processTo(CharSequence text, StringBuilder out) {
+        int length = text.length();
+        if (length == 0) {
+            return out;
+        }
+        char last = text.charAt(length - 1);
+        boolean endsWithTerminator = last == '\n' || last == '\r';
+        int outdent = endsWithTerminator ? 0 : outdent(text);
+
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineEnd(text, lineStart);
+            int next = nextLine(text, lineEnd);
+            boolean hasNext = next < length || endsWithTerminator;
+
+            int first = lineStart;
+            while (first < lineEnd && isWhitespace(text.charAt(first))) {
+                first++;
+            }
+            int end = lineEnd;
+            while (end > first && isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            boolean joined = first < end && translate(text, Math.min(lineStart + outdent, first), end, hasNext, out);
+            if (hasNext && !joined) {
+                out.append('\n');
+            }
+            lineStart = next;
+        }
+        return out;
+    }
+
+    /**
+     * Smallest indentation of non-blank lines and of the last line.
+     */
+    private static int outdent(CharSequence text) {
+        int length = text.length();
+        int outdent = Integer.MAX_VALUE;
+        int lineStart = 0;
+        int lastLineIndentation = 0;
+        boolean lastLineBlank = false;
+        while (lineStart < length) {
+            int lineEnd = lineEnd(text, lineStart);
+            int first = lineStart;
+            while (first < lineEnd && isWhitespace(text.charAt(first))) {
+                first++;
+            }
+            lastLineBlank = first == lineEnd;
+            lastLineIndentation = first - lineStart;
+            if (!lastLineBlank) {
+                outdent = Math.min(outdent, lastLineIndentation);
+            }
+            lineStart = nextLine(text, lineEnd);
+        }
+        if (lastLineBlank) {
+            outdent = Math.min(outdent, lastLineIndentation);
+        }
+        return outdent;
+    }
+
+    /**
+     * Appends the chars from start to end with translated escapes.
+     * Returns true if the line ends with a \ that joins it with the next line.
+     */
+    private static boolean translate(CharSequence text, int start, int end, boolean hasNext, StringBuilder out) {
+        int from = start;
+        int i = start;
+        while (i < end) {
+            if (text.charAt(i) != '\\') {
+                i++;
+                continue;
+            }
+            out.append(text, from, i);
+            i++;
+            if (i == end) {
+                if (!hasNext) {
+                    throw invalidEscape('\0');
+                }
+                return true;
+            }
+            char escaped = text.charAt(i++);
+            switch (escaped) {
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'n' -> out.append('\n');
+                case 'r' -> out.append('\r');
+                case 's' -> out.append(' ');
+                case 't' -> out.append('\t');
+                case '\'', '"', '\\' -> out.append(escaped);
+                case '0', '1', '2', '3', '4', '5', '6', '7' -> {
+                    int limit = Math.min(i + (escaped <= '3' ? 2 : 1), end);
+                    int code = escaped - '0';
+                    while (i < limit && text.charAt(i) >= '0' && text.charAt(i) <= '7') {
+                        code = (code << 3) | (text.charAt(i++) - '0');
+                    }
+                    out.append((char) code);
+                }
+                default -> throw invalidEscape(escaped);
+            }
+            from = i;
+        }
+        out.append(text, from, end);
+        return false;
+    }
+
+    private static IllegalArgumentException invalidEscape(char escaped) {
+        return new IllegalArgumentException(String.format("Invalid escape sequence: \\%c \\\\u%04X", escaped, (int) escaped));
+    }
+
+    private static int lineEnd(CharSequence text, int from) {
+        int length = text.length();
+        while (from < length) {
+            char c = text.charAt(from);
+            if (c == '\n' || c == '\r') {
+                return from;
+            }
+            from++;
+        }
+        return length;
+    }
+
+    private static int nextLine(CharSequence text, int lineEnd) {
+        if (lineEnd < text.length() && text.charAt(lineEnd) == '\r'
+                && lineEnd + 1 < text.length() && text.charAt(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || Character.isWhitespace(c);
+    }
+}
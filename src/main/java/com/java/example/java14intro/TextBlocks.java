@@ -110,6 +110,18 @@ public class TextBlocks {
                 """.formatted(String.class);
         System.out.println(newStringMethodFormatted);
 
+        /*
+            formatted() parses the text block on every call.
+            If the same text block is formatted many times, TextTemplate parses it once
+            and gives the same result for %s, %d, %% and %n.
+         */
+        String compiledTemplate = TextTemplate.of("""
+                    public void print(%s x) {
+                        System.out.println(x);
+                    }
+                """).render(String.class);
+        System.out.println(compiledTemplate);
+
         /*
             String literals can be concatenated with text blocks.
         */
@@ -0,0 +1,248 @@
+package com.java.example.java14intro;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled alternative to String::formatted for text blocks that are rendered many times.
+ * formatted() parses the format string with a regular expression on every call,
+ * a template is parsed once into a list of literal and argument segments.
+ * Supported specifiers are %s, %d, %% and %n, with an optional argument index (%1$s),
+ * the output is the same as formatted() gives for them.
+ * Flags, width, precision and other conversions are rejected when the template is compiled.
+ * %d expects a locale with ASCII digits, as formatted() uses digits of the default locale.
+ */
+final class TextTemplate {
+
+    /**
+     * Compiled templates by format string. The cache is bounded: once it is full,
+     * of() compiles other format strings on every call without keeping them.
+     */
+    static final int MAX_CACHED = 1024;
+
+    private static final Map<String, TextTemplate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * A builder per thread, taken out of its slot while it is used: an argument whose toString()
+     * renders another template on the same thread gets a new builder instead of the one in use.
+     */
+    private static final ThreadLocal<StringBuilder[]> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder[1]);
+
+    private final String format;
+    private final Segment[] segments;
+
+    private TextTemplate(String format, Segment[] segments) {
+        this.format = format;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the template, a compiled template is immutable and can be kept in a static final field.
+     */
+    public static TextTemplate compile(String format) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int ordinaryIndex = 0;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            int specifierStart = i - 1;
+            int index = -1;
+            int digitsEnd = i;
+            while (digitsEnd < format.length() && Character.isDigit(format.charAt(digitsEnd))) {
+                digitsEnd++;
+            }
+            if (digitsEnd > i && digitsEnd < format.length() && format.charAt(digitsEnd) == '$') {
+                index = Integer.parseInt(format, i, digitsEnd, 10) - 1;
+                i = digitsEnd + 1;
+            }
+            if (i >= format.length()) {
+                throw new UnknownFormatConversionException("%");
+            }
+            char conversion = format.charAt(i++);
+            switch (conversion) {
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                case 's', 'd' -> {
+                    if (literal.length() > 0) {
+                        segments.add(new Literal(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    segments.add(new Argument(index >= 0 ? index : ordinaryIndex++, conversion,
+                            format.substring(specifierStart, i)));
+                }
+                default -> throw new UnknownFormatConversionException(format.substring(specifierStart, i)
+                        + " (only %s, %d, %% and %n are supported)");
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(new Literal(literal.toString()));
+        }
+        return new TextTemplate(format, segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * Returns the compiled template of the given string, compiling it on first use.
+     * Text blocks are constants, so the equals() of a lookup usually ends at the identity check.
+     */
+    public static TextTemplate of(String format) {
+        TextTemplate template = cache.get(format);
+        if (template == null) {
+            template = compile(format);
+            if (cache.size() < MAX_CACHED) {
+                TextTemplate cached = cache.putIfAbsent(format, template);
+                if (cached != null) {
+                    template = cached;
+                }
+            }
+        }
+        return template;
+    }
+
+    public String format() {
+        return format;
+    }
+
+    /**
+     * Same result as format().formatted(args).
+     */
+    public String render(Object... args) {
+        StringBuilder[] slot = BUILDER.get();
+        StringBuilder builder = take(slot);
+        try {
+            return appendTo(builder, args).toString();
+        } finally {
+            release(slot, builder);
+        }
+    }
+
+    public StringBuilder appendTo(StringBuilder builder, Object... args) {
+        for (Segment segment : segments) {
+            segment.appendTo(builder, args);
+        }
+        return builder;
+    }
+
+    /**
+     * Writes the rendered text as UTF-8, literal parts are encoded once when the template is compiled.
+     */
+    public ByteBuffer encodeTo(ByteBuffer buffer, Object... args) {
+        for (Segment segment : segments) {
+            segment.encodeTo(buffer, args);
+        }
+        return buffer;
+    }
+
+    private static StringBuilder take(StringBuilder[] slot) {
+        StringBuilder builder = slot[0];
+        if (builder == null) {
+            return new StringBuilder();
+        }
+        slot[0] = null;
+        return builder;
+    }
+
+    private static void release(StringBuilder[] slot, StringBuilder builder) {
+        builder.setLength(0);
+        slot[0] = builder;
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder builder, Object[] args);
+
+        void encodeTo(ByteBuffer buffer, Object[] args);
+    }
+
+    private static final class Literal implements Segment {
+        private final String text;
+        private final byte[] utf8;
+
+        Literal(String text) {
+            this.text = text;
+            this.utf8 = text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Object[] args) {
+            builder.append(text);
+        }
+
+        @Override
+        public void encodeTo(ByteBuffer buffer, Object[] args) {
+            buffer.put(utf8);
+        }
+    }
+
+    private static final class Argument implements Segment {
+        private final int index;
+        private final char conversion;
+        private final String specifier;
+
+        Argument(int index, char conversion, String specifier) {
+            this.index = index;
+            this.conversion = conversion;
+            this.specifier = specifier;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Object[] args) {
+            Object arg = argument(args);
+            if (arg == null) {
+                builder.append("null");
+            } else if (isInteger(arg)) {
+                builder.append(((Number) arg).longValue());
+            } else if (conversion == 's' && !(arg instanceof Formattable)) {
+                builder.append(arg);
+            } else {
+                // Formattable, BigInteger and conversion errors are left to the Formatter
+                builder.append(String.format(conversion == 's' ? "%s" : "%d", arg));
+            }
+        }
+
+        @Override
+        public void encodeTo(ByteBuffer buffer, Object[] args) {
+            Object arg = argument(args);
+            if (arg == null) {
+                Utf8.encode("null", buffer);
+            } else if (isInteger(arg)) {
+                Utf8.encode(((Number) arg).longValue(), buffer);
+            } else if (arg instanceof CharSequence text && conversion == 's') {
+                Utf8.encode(text, buffer);
+            } else {
+                StringBuilder[] slot = BUILDER.get();
+                StringBuilder builder = take(slot);
+                try {
+                    appendTo(builder, args);
+                    Utf8.encode(builder, buffer);
+                } finally {
+                    release(slot, builder);
+                }
+            }
+        }
+
+        /**
+         * Integer, Long, Short and Byte print the same with %s and %d.
+         */
+        private static boolean isInteger(Object arg) {
+            return arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte;
+        }
+
+        private Object argument(Object[] args) {
+            if (args == null || index >= args.length) {
+                throw new MissingFormatArgumentException(specifier);
+            }
+            return args[index];
+        }
+    }
+}
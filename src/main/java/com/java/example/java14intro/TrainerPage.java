@@ -0,0 +1,71 @@
+package com.java.example.java14intro;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Trainer page built from the html snippets of TextBlocks,
+ * streamed through HtmlFragmentWriter instead of being concatenated into one String.
+ * The text blocks are split where dynamic values are inserted.
+ */
+final class TrainerPage {
+
+    /**
+     * Link to a profile on a social network, icon is a font awesome icon name (e.g. facebook-square).
+     */
+    record SocialLink(String url, String icon) {}
+
+    private static final HtmlFragmentWriter.Fragment NAVBAR = HtmlFragmentWriter.Fragment.of("""
+            <nav class="navbar navbar-expand-lg navbar-light bg-light">
+                <span class="navbar-toggler-icon"></span>
+            </nav>
+            """);
+
+    private static final HtmlFragmentWriter.Fragment TRAINER_START = HtmlFragmentWriter.Fragment.of("""
+            <div class="information trainer">
+            	<a href="tel:""");
+
+    private static final HtmlFragmentWriter.Fragment TRAINER_PHONE = HtmlFragmentWriter.Fragment.of("""
+            "><span class="fa fa-phone" style="color: rgb(255, 0, 0)"></span>&nbsp;\s""");
+
+    private static final HtmlFragmentWriter.Fragment TRAINER_END = HtmlFragmentWriter.Fragment.of("""
+            </a>
+            </div>
+            """);
+
+    private static final HtmlFragmentWriter.Fragment SOCIAL_START = HtmlFragmentWriter.Fragment.of("""
+            <div class="second-row">
+            """);
+
+    private static final HtmlFragmentWriter.Fragment SOCIAL_LINK_START = HtmlFragmentWriter.Fragment.of("""
+              <div class="information right-side"><a href=\"""");
+
+    private static final HtmlFragmentWriter.Fragment SOCIAL_LINK_ICON = HtmlFragmentWriter.Fragment.of("""
+            " target="_blank"><i class="fa fa-""");
+
+    private static final HtmlFragmentWriter.Fragment SOCIAL_LINK_END = HtmlFragmentWriter.Fragment.of("""
+            " style="color: rgb(255, 0, 0)"></i></a></div>
+            """);
+
+    private static final HtmlFragmentWriter.Fragment SOCIAL_END = HtmlFragmentWriter.Fragment.of("""
+            </div>
+            """);
+
+    private TrainerPage() {
+    }
+
+    static void write(HtmlFragmentWriter writer, String phone, String phoneLabel, List<SocialLink> links)
+            throws IOException {
+        writer.fragment(NAVBAR)
+                .fragment(TRAINER_START).text(phone)
+                .fragment(TRAINER_PHONE).text(phoneLabel)
+                .fragment(TRAINER_END)
+                .fragment(SOCIAL_START);
+        for (SocialLink link : links) {
+            writer.fragment(SOCIAL_LINK_START).text(link.url())
+                    .fragment(SOCIAL_LINK_ICON).text(link.icon())
+                    .fragment(SOCIAL_LINK_END);
+        }
+        writer.fragment(SOCIAL_END).flush();
+    }
+}
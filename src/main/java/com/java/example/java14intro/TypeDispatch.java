@@ -0,0 +1,102 @@
+package com.java.example.java14intro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Replacement for long instanceof pattern chains (see PatternMatching.getUsersAddress):
+ *
+ *     if (x instanceof User user) return user.getAddress();
+ *     if (x instanceof String address) return address;
+ *     return "";
+ *
+ * Handlers are registered per type and matched in registration order, like the branches of the chain,
+ * so a subtype is handled by the first registered type it is an instance of.
+ * The match is resolved once per runtime class and cached in a ClassValue,
+ * after that a dispatch is one lookup, whatever the number of types.
+ * null is handled by the fallback, as null is not an instance of any type.
+ */
+final class TypeDispatch<R> {
+
+    private final List<Case<?, R>> cases;
+    private final Function<Object, ? extends R> fallback;
+    private final ClassValue<Function<Object, ? extends R>> handlers = new ClassValue<>() {
+        @Override
+        protected Function<Object, ? extends R> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private TypeDispatch(List<Case<?, R>> cases, Function<Object, ? extends R> fallback) {
+        this.cases = cases;
+        this.fallback = fallback;
+    }
+
+    public static <R> Builder<R> builder() {
+        return new Builder<>();
+    }
+
+    public R apply(Object value) {
+        if (value == null) {
+            return fallback.apply(null);
+        }
+        return handlers.get(value.getClass()).apply(value);
+    }
+
+    private Function<Object, ? extends R> resolve(Class<?> type) {
+        for (Case<?, R> candidate : cases) {
+            if (candidate.type.isAssignableFrom(type)) {
+                return candidate.erased();
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Handler of one type, the handler is called only with instances of the type.
+     */
+    private static final class Case<T, R> {
+        private final Class<T> type;
+        private final Function<? super T, ? extends R> handler;
+
+        Case(Class<T> type, Function<? super T, ? extends R> handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        Function<Object, ? extends R> erased() {
+            return value -> handler.apply(type.cast(value));
+        }
+    }
+
+    static final class Builder<R> {
+        private final List<Case<?, R>> cases = new ArrayList<>();
+        private Function<Object, ? extends R> fallback = value -> {
+            throw new IllegalArgumentException("no handler for " + (value == null ? "null" : value.getClass().getName()));
+        };
+
+        private Builder() {
+        }
+
+        public <T> Builder<R> on(Class<T> type, Function<? super T, ? extends R> handler) {
+            if (type.isPrimitive()) {
+                throw new IllegalArgumentException("values are boxed, register " + type.getName() + " wrapper type instead");
+            }
+            cases.add(new Case<>(type, handler));
+            return this;
+        }
+
+        /**
+         * Handler for values of other types and null, by default an IllegalArgumentException is thrown.
+         */
+        public Builder<R> otherwise(Function<Object, ? extends R> fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        public TypeDispatch<R> build() {
+            return new TypeDispatch<>(List.copyOf(cases), fallback);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.java.example.java14intro;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 encoding of chars straight into a ByteBuffer, without the byte[] that String::getBytes creates.
+ * Unpaired surrogates are written as '?', the same replacement String::getBytes uses.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    public static void encode(CharSequence value, ByteBuffer buffer) {
+        encode(value, 0, value.length(), buffer);
+    }
+
+    /**
+     * Encodes chars from start (inclusive) to end (exclusive) without creating a subSequence.
+     */
+    public static void encode(CharSequence value, int start, int end, ByteBuffer buffer) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xf0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3f)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3f)))
+                        .put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xe0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3f)))
+                        .put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    /**
+     * Writes the decimal digits of the value, the same as Long.toString(value) encoded in UTF-8.
+     */
+    public static void encode(long value, ByteBuffer buffer) {
+        if (value == Long.MIN_VALUE) {
+            encode("-9223372036854775808", buffer);
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.java.example.java14intro;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Loads the classic mode with LoadGenerator: GET /test, GET /test/coalesced and POST /test/batch
+ * with the given number of logical requests per batch, and prints logical requests per second
+ * and process CPU time per logical request.
+ * The client runs in the same JVM, so the CPU time includes the client side of every HTTP request.
+ * Arguments: concurrent users (default 256), measured seconds per case (default 30), batch size (default 16).
+ */
+public class BatchRestLoadBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        try (ConfigurableApplicationContext context = ExecutionModeLoadBenchmark.start("")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpRequest batch = HttpRequest.newBuilder(URI.create(base + "/test/batch"))
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString("/test\n".repeat(batchSize)))
+                    .build();
+            run("single", HttpRequest.newBuilder(URI.create(base + "/test")).build(), 1, users, duration);
+            run("coalesced", HttpRequest.newBuilder(URI.create(base + "/test/coalesced")).build(), 1, users, duration);
+            run("batch-" + batchSize, batch, batchSize, users, duration);
+        }
+    }
+
+    private static void run(String name, HttpRequest request, int logicalRequests, int users, Duration duration)
+            throws InterruptedException {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        LoadGenerator.run(name, request, users, Duration.ZERO, Duration.ofSeconds(10));
+        long cpuStart = os.getProcessCpuTime();
+        LoadGenerator.Result result = LoadGenerator.run(name, request, users, Duration.ZERO, duration);
+        long cpu = os.getProcessCpuTime() - cpuStart;
+        long logical = result.requests() * logicalRequests;
+        System.out.println(result);
+        System.out.printf("%-12s logical requests=%,d logical rps=%,.0f cpu per logical request=%,.1fus%n",
+                name, logical, result.requestsPerSecond() * logicalRequests,
+                logical == 0 ? 0 : (double) cpu / logical / 1000);
+    }
+}
@@ -0,0 +1,82 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion of a batch of Person rows with 0%, 10% and 50% invalid rows:
+ * constructing every row and catching IllegalArgumentException of the compact constructor,
+ * versus Person.VALIDATOR sequentially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class BulkValidatorBenchmark {
+
+    @Param({"0", "10", "50"})
+    private int invalidPercent;
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean invalid = random.nextInt(100) < invalidPercent;
+            rows.add(new Object[]{invalid ? "Al" : "John" + i % 1000, "Smith" + i % 1000});
+        }
+    }
+
+    @Benchmark
+    public List<Person> constructAndCatch() {
+        List<Person> persons = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            try {
+                persons.add(new Person((String) row[0], (String) row[1]));
+            } catch (IllegalArgumentException e) {
+                // counted as a violation
+            }
+        }
+        return persons;
+    }
+
+    @Benchmark
+    public List<Person> validate() {
+        return Person.VALIDATOR.validate(rows).records();
+    }
+
+    @Benchmark
+    public List<Person> validateParallel() {
+        return Person.VALIDATOR.validateParallel(rows).records();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkValidatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkValidatorTests {
+
+    @Test
+    void invalidRowsAreReportedWithoutConstruction() {
+        List<Object[]> rows = List.of(
+                new Object[]{"John", "Smith"},
+                new Object[]{"Jo", "Smith"},
+                new Object[]{"Al", "Li"},
+                new Object[]{null, "Smith"},
+                new Object[]{"Mary", "Jones"});
+
+        BulkValidator.Result<Person> result = Person.VALIDATOR.validate(rows);
+
+        assertEquals(List.of(new Person("John", "Smith"), new Person("Mary", "Jones")), result.records());
+        assertTrue(result.isValid(0));
+        assertFalse(result.isValid(1));
+        assertNull(result.record(2));
+        assertEquals(4, result.violationCount());
+        assertEquals(1, result.violationRow(0));
+        assertEquals("first name length is less then 4", result.violationMessage(0));
+        assertEquals(2, result.violationRow(1));
+        assertEquals(2, result.violationRow(2));
+        assertEquals("second name length is less then 4", result.violationMessage(2));
+        assertEquals(3, result.violationRow(3));
+    }
+
+    @Test
+    void rowBreakingSeveralRulesHasNoRecord() {
+        BulkValidator.Result<Person> result = Person.VALIDATOR.validate(List.<Object[]>of(new Object[]{"Al", "Li"}));
+
+        assertEquals(List.of(), result.records());
+        assertEquals(2, result.violationCount());
+        assertFalse(result.isValid(0));
+    }
+
+    @Test
+    void constructorRejectionsAndMalformedRowsAreViolations() {
+        BulkValidator<Person> withoutRules = BulkValidator.builder(Person.class).build();
+        List<Object[]> rows = List.of(new Object[]{"Jo", "Smith"}, new Object[]{"John"}, new Object[]{1, "Smith"});
+
+        BulkValidator.Result<Person> result = withoutRules.validate(rows);
+
+        assertEquals(3, result.violationCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(withoutRules.constructorRule(), result.violationRule(i));
+        }
+        assertEquals(0, Person.VALIDATOR.validate(List.<Object[]>of(new Object[]{42, "Smith"})).records().size());
+    }
+
+    @Test
+    void parallelValidationKeepsRowOrder() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            rows.add(i % 10 == 0 ? new Object[]{"Al", "Li"} : new Object[]{"John", "Smith" + i});
+        }
+
+        BulkValidator.Result<Person> sequential = Person.VALIDATOR.validate(rows);
+        BulkValidator.Result<Person> parallel = Person.VALIDATOR.validateParallel(rows, new ForkJoinPool(8));
+
+        assertEquals(90_000, parallel.records().size());
+        assertEquals(sequential.records(), parallel.records());
+        assertEquals(20_000, parallel.violationCount());
+        for (int i = 0; i < parallel.violationCount(); i++) {
+            assertEquals(sequential.violationRow(i), parallel.violationRow(i));
+            assertEquals(sequential.violationRule(i), parallel.violationRule(i));
+        }
+    }
+
+    @Test
+    void rulesMustMatchComponents() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkValidator.builder(Person.class).check("name", String.class, name -> true, ""));
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkValidator.builder(Person.class).check("firstName", Integer.class, name -> true, ""));
+    }
+}
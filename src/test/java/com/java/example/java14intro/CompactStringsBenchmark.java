@@ -0,0 +1,135 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecordExample versus CompactRecordExample over the feed of RecordColumnsBenchmark (1M records, 100k names, 5 shapes):
+ * building the records from strings, equality lookups in a HashSet, and a scan that counts one shape.
+ * main() first prints the retained heap per record of both lists, measured with JOL.
+ * The dictionary is shared, so its strings are reported separately: they are paid once, not per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CompactStringsBenchmark {
+
+    private static final int SIZE = 1_000_000;
+
+    private List<RecordExample> records;
+    private List<CompactRecordExample> compactRecords;
+    private HashSet<RecordExample> recordSet;
+    private HashSet<CompactRecordExample> compactSet;
+    private long circle;
+
+    @Setup
+    public void setUp() {
+        records = RecordColumnsBenchmark.list(SIZE);
+        compactRecords = compact(records);
+        recordSet = new HashSet<>(records.subList(0, SIZE / 2));
+        compactSet = new HashSet<>(compactRecords.subList(0, SIZE / 2));
+        circle = CompactStrings.encode("circle");
+    }
+
+    private static List<CompactRecordExample> compact(List<RecordExample> records) {
+        List<CompactRecordExample> compact = new ArrayList<>(records.size());
+        for (RecordExample record : records) {
+            compact.add(CompactRecordExample.of(record.name(), record.shape()));
+        }
+        return compact;
+    }
+
+    @Benchmark
+    public List<RecordExample> buildRecords() {
+        return RecordColumnsBenchmark.list(SIZE);
+    }
+
+    @Benchmark
+    public List<CompactRecordExample> buildCompactRecords() {
+        return compact(records);
+    }
+
+    @Benchmark
+    public int containsRecords() {
+        int found = 0;
+        for (RecordExample record : records) {
+            if (recordSet.contains(record)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsCompactRecords() {
+        int found = 0;
+        for (CompactRecordExample record : compactRecords) {
+            if (compactSet.contains(record)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int scanRecords() {
+        int count = 0;
+        for (RecordExample record : records) {
+            if ("circle".equals(record.shape())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int scanCompactRecords() {
+        int count = 0;
+        for (CompactRecordExample record : compactRecords) {
+            if (record.shape() == circle) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<RecordExample> records = RecordColumnsBenchmark.list(SIZE);
+        List<CompactRecordExample> compact = compact(records);
+        long recordBytes = GraphLayout.parseInstance(records).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        List<String> dictionary = new ArrayList<>();
+        for (CompactRecordExample record : compact.subList(0, 100_000)) {
+            dictionary.add(record.nameString());
+        }
+        long dictionaryBytes = GraphLayout.parseInstance(dictionary).totalSize();
+        System.out.printf("RecordExample        %,d bytes, %.1f bytes per record%n", recordBytes, (double) recordBytes / SIZE);
+        System.out.printf("CompactRecordExample %,d bytes, %.1f bytes per record%n", compactBytes, (double) compactBytes / SIZE);
+        System.out.printf("shared dictionary    %,d strings, about %,d bytes once%n",
+                CompactStrings.dictionarySize(), dictionaryBytes);
+
+        new Runner(new OptionsBuilder()
+                .include(CompactStringsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
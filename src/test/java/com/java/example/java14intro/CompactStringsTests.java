@@ -0,0 +1,130 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactStringsTests {
+
+    @Test
+    void shortLatin1StringsAreInlined() {
+        for (String value : new String[]{"", "a", "circle", "hexagon", "Kraków", "ÿ\u0000x"}) {
+            long code = CompactStrings.encode(value);
+            assertTrue(CompactStrings.isInline(code), value);
+            assertEquals(value, CompactStrings.decode(code));
+            assertEquals(value.length(), CompactStrings.length(code));
+        }
+        assertNotEquals(CompactStrings.encode(""), CompactStrings.encode("\u0000"));
+    }
+
+    @Test
+    void longerAndNonLatin1StringsGoToTheDictionary() {
+        int size = CompactStrings.dictionarySize();
+        for (String value : new String[]{"triangle", "Floriańska", "name-12345", "ń"}) {
+            long code = CompactStrings.encode(value);
+            assertFalse(CompactStrings.isInline(code), value);
+            assertEquals(value, CompactStrings.decode(code));
+            assertEquals(code, CompactStrings.encode(new String(value)));
+            assertEquals(value.length(), CompactStrings.length(code));
+        }
+        assertTrue(CompactStrings.dictionarySize() <= size + 4);
+    }
+
+    @Test
+    void nullIsZero() {
+        assertEquals(CompactStrings.NULL, CompactStrings.encode(null));
+        assertNull(CompactStrings.decode(CompactStrings.NULL));
+        assertEquals(-1, CompactStrings.length(CompactStrings.NULL));
+    }
+
+    @Test
+    void recordsAreEqualWhenTheirStringsAre() {
+        CompactRecordExample circle = CompactRecordExample.of("name-1", "circle");
+        CompactRecordExample same = CompactRecordExample.of(new String("name-1"), new String("circle"));
+        CompactRecordExample triangle = CompactRecordExample.of("name-1", "triangle");
+        assertEquals(circle, same);
+        assertEquals(circle.hashCode(), same.hashCode());
+        assertNotEquals(circle, triangle);
+        assertEquals(new RecordExample("name-1", "triangle"), triangle.toRecordExample());
+        assertEquals("CompactRecordExample[name=name-1, shape=triangle]", triangle.toString());
+
+        CompactAdministrator administrator = CompactAdministrator.of("Bartholomew", null);
+        assertEquals(CompactAdministrator.of("Bartholomew", null), administrator);
+        assertNull(administrator.secondNameString());
+        assertEquals("CompactAdministrator[firstName=Bartholomew, secondName=null]", administrator.toString());
+    }
+
+    @Test
+    void onlyEncodedCodesAreValid() {
+        assertTrue(CompactStrings.isValid(CompactStrings.NULL));
+        assertTrue(CompactStrings.isValid(CompactStrings.encode("")));
+        assertTrue(CompactStrings.isValid(CompactStrings.encode("hexagon")));
+        assertTrue(CompactStrings.isValid(CompactStrings.encode("triangle")));
+        assertFalse(CompactStrings.isValid(5));
+        assertFalse(CompactStrings.isValid(9L << 56));
+        assertFalse(CompactStrings.isValid(CompactStrings.encode("ab") | 0x63L << 16));
+        assertFalse(CompactStrings.isValid(Long.MIN_VALUE | Integer.MAX_VALUE));
+        assertFalse(CompactStrings.isValid(-1));
+
+        assertThrows(IllegalArgumentException.class, () -> new CompactRecordExample(5, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompactAdministrator(CompactStrings.encode("John"), Long.MIN_VALUE | 1 << 30));
+        assertEquals(CompactRecordExample.of("a", "b"),
+                new CompactRecordExample(CompactStrings.encode("a"), CompactStrings.encode("b")));
+    }
+
+    @Test
+    void encodingIsCanonical() {
+        Set<Long> codes = new HashSet<>();
+        Set<String> values = new HashSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            char[] chars = new char[random.nextInt(10)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(random.nextBoolean() ? 0x100 : 0x200);
+            }
+            String value = new String(chars);
+            long code = CompactStrings.encode(value);
+            assertEquals(value, CompactStrings.decode(code));
+            assertEquals(values.add(value), codes.add(code), value);
+        }
+    }
+
+    @Test
+    void concurrentEncodingGivesOneIdPerString() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long[] codes = new long[5000];
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = CompactStrings.encode("concurrent-" + i);
+                }
+                return codes;
+            }));
+        }
+        long[] first = futures.get(0).get();
+        for (Future<long[]> future : futures) {
+            long[] codes = future.get();
+            for (int i = 0; i < codes.length; i++) {
+                assertEquals(first[i], codes[i]);
+                assertEquals("concurrent-" + i, CompactStrings.decode(codes[i]));
+            }
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,133 @@
+package com.java.example.java14intro;
+
+import com.java.example.java14intro.SwitchExpressions.Numbers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enum lookups through the compiled switch of SwitchExpressions.printNameAssociatedWithId ($SwitchMap),
+ * EnumSwitch, EnumSwitch.Ref (one more volatile read), EnumMap and HashMap.
+ * Character.UnicodeScript stands in for an enum with hundreds of constants,
+ * a compiled switch over all of them is not written out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class EnumSwitchBenchmark {
+
+    private static final Numbers[] NUMBERS = Numbers.values();
+    private static final Character.UnicodeScript[] SCRIPTS = Character.UnicodeScript.values();
+
+    private EnumSwitch<Numbers, String> numbersTable;
+    private EnumSwitch.Ref<Numbers, String> numbersRef;
+    private Map<Numbers, String> numbersEnumMap;
+    private Map<Numbers, String> numbersHashMap;
+    private EnumSwitch<Character.UnicodeScript, String> scriptsTable;
+    private EnumSwitch.Ref<Character.UnicodeScript, String> scriptsRef;
+    private Map<Character.UnicodeScript, String> scriptsEnumMap;
+    private Map<Character.UnicodeScript, String> scriptsHashMap;
+    private int nextNumber;
+    private int nextScript;
+
+    @Setup
+    public void setUp() {
+        numbersHashMap = new HashMap<>(Map.of(Numbers.ONE, "Tomas", Numbers.TWO, "John", Numbers.THREE, "Peter"));
+        numbersEnumMap = new EnumMap<>(numbersHashMap);
+        numbersTable = EnumSwitch.of(Numbers.class, numbersHashMap);
+        numbersRef = new EnumSwitch.Ref<>(numbersTable);
+
+        scriptsHashMap = new HashMap<>();
+        for (Character.UnicodeScript script : SCRIPTS) {
+            scriptsHashMap.put(script, script.name().toLowerCase());
+        }
+        scriptsEnumMap = new EnumMap<>(scriptsHashMap);
+        scriptsTable = EnumSwitch.of(Character.UnicodeScript.class, scriptsHashMap);
+        scriptsRef = new EnumSwitch.Ref<>(scriptsTable);
+    }
+
+    private Numbers nextNumber() {
+        Numbers id = NUMBERS[nextNumber];
+        nextNumber = nextNumber + 1 == NUMBERS.length ? 0 : nextNumber + 1;
+        return id;
+    }
+
+    private Character.UnicodeScript nextScript() {
+        Character.UnicodeScript script = SCRIPTS[nextScript];
+        nextScript = nextScript + 1 == SCRIPTS.length ? 0 : nextScript + 1;
+        return script;
+    }
+
+    @Benchmark
+    public String numbersCompiledSwitch() {
+        return switch (nextNumber()) {
+            case ONE -> "Tomas";
+            case TWO -> "John";
+            case THREE -> "Peter";
+        };
+    }
+
+    @Benchmark
+    public String numbersEnumSwitch() {
+        return numbersTable.get(nextNumber());
+    }
+
+    @Benchmark
+    public String numbersEnumSwitchRef() {
+        return numbersRef.get(nextNumber());
+    }
+
+    @Benchmark
+    public String numbersEnumMap() {
+        return numbersEnumMap.get(nextNumber());
+    }
+
+    @Benchmark
+    public String numbersHashMap() {
+        return numbersHashMap.get(nextNumber());
+    }
+
+    @Benchmark
+    public String scriptsEnumSwitch() {
+        return scriptsTable.get(nextScript());
+    }
+
+    @Benchmark
+    public String scriptsEnumSwitchRef() {
+        return scriptsRef.get(nextScript());
+    }
+
+    @Benchmark
+    public String scriptsEnumMap() {
+        return scriptsEnumMap.get(nextScript());
+    }
+
+    @Benchmark
+    public String scriptsHashMap() {
+        return scriptsHashMap.get(nextScript());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnumSwitchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
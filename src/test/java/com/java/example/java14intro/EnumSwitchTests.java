@@ -0,0 +1,107 @@
+package com.java.example.java14intro;
+
+import com.java.example.java14intro.SwitchExpressions.Numbers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnumSwitchTests {
+
+    @Test
+    void exhaustiveTableMatchesTheSwitch() {
+        EnumSwitch<Numbers, String> names = EnumSwitch.of(Numbers.class,
+                Map.of(Numbers.ONE, "Tomas", Numbers.TWO, "John", Numbers.THREE, "Peter"));
+        for (Numbers id : Numbers.values()) {
+            assertEquals(switch (id) {
+                case ONE -> "Tomas";
+                case TWO -> "John";
+                case THREE -> "Peter";
+            }, names.get(id));
+        }
+        assertThrows(NullPointerException.class, () -> names.get(null));
+    }
+
+    @Test
+    void missingConstantsAreRejectedWithoutDefault() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> EnumSwitch.of(Numbers.class, Map.of(Numbers.ONE, "Tomas")));
+        assertTrue(e.getMessage().endsWith("missing [TWO, THREE]"), e.getMessage());
+
+        EnumSwitch<Numbers, String> withDefault = EnumSwitch.of(Numbers.class, Map.of(Numbers.ONE, "Tomas"), "unknown");
+        assertEquals("Tomas", withDefault.get(Numbers.ONE));
+        assertEquals("unknown", withDefault.get(Numbers.THREE));
+    }
+
+    @Test
+    void armsAreParsed() throws IOException {
+        EnumSwitch<Numbers, String> names = parse("""
+                # names by id
+                ONE, TWO -> Tomas
+                THREE -> Peter
+                """);
+        assertEquals("Tomas", names.get(Numbers.TWO));
+        assertEquals("Peter", names.get(Numbers.THREE));
+        assertEquals("Peter", parse("ONE -> Tomas\ndefault -> Peter").get(Numbers.TWO));
+
+        Map<Numbers, String> expected = new EnumMap<>(Numbers.class);
+        expected.put(Numbers.ONE, "Tomas");
+        expected.put(Numbers.TWO, "Tomas");
+        expected.put(Numbers.THREE, "Peter");
+        assertEquals(expected, names.toMap());
+    }
+
+    @Test
+    void invalidArmsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> parse("ONE -> Tomas\nTWO -> John"));
+        assertThrows(IllegalArgumentException.class, () -> parse("ONE, ONE -> Tomas\ndefault -> Peter"));
+        assertThrows(IllegalArgumentException.class, () -> parse("FOUR -> Tomas\ndefault -> Peter"));
+        assertThrows(IllegalArgumentException.class, () -> parse("ONE, -> Tomas\ndefault -> Peter"));
+        assertThrows(IllegalArgumentException.class, () -> parse("ONE = Tomas\ndefault -> Peter"));
+        assertThrows(IllegalArgumentException.class, () -> parse("default -> Tomas\ndefault -> Peter"));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void constantsOfOtherTypesAreRejected() {
+        Map cases = Map.of(TimeUnit.SECONDS, "Tomas");
+        assertThrows(IllegalArgumentException.class, () -> EnumSwitch.of(Numbers.class, cases, "Peter"));
+    }
+
+    @Test
+    void refSwapsTables() throws IOException {
+        EnumSwitch<Numbers, String> first = parse("default -> Tomas");
+        EnumSwitch.Ref<Numbers, String> names = new EnumSwitch.Ref<>(first);
+        assertEquals("Tomas", names.get(Numbers.ONE));
+
+        assertSame(first, names.reload(new StringReader("ONE -> John\ndefault -> Peter"), value -> value));
+        assertEquals("John", names.get(Numbers.ONE));
+        assertEquals("Peter", names.get(Numbers.TWO));
+
+        EnumSwitch<Numbers, String> current = names.table();
+        assertThrows(IllegalArgumentException.class, () -> names.reload(new StringReader("ONE -> John"), value -> value));
+        assertSame(current, names.table());
+    }
+
+    @Test
+    void nullValuesAreAllowed() {
+        Map<Numbers, String> cases = new EnumMap<>(Numbers.class);
+        cases.put(Numbers.ONE, null);
+        cases.put(Numbers.TWO, "John");
+        cases.put(Numbers.THREE, "Peter");
+        assertNull(EnumSwitch.of(Numbers.class, cases).get(Numbers.ONE));
+    }
+
+    private static EnumSwitch<Numbers, String> parse(String arms) throws IOException {
+        return EnumSwitch.parse(Numbers.class, new StringReader(arms), value -> value);
+    }
+}
@@ -0,0 +1,44 @@
+package com.java.example.java14intro;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application in every execution mode on a random local port
+ * and loads GET /test with LoadGenerator: classic Tomcat thread pool, async servlet processing
+ * and WebFlux on Reactor Netty. Virtual threads need JDK 19+ and are not one of the modes on JDK 14.
+ * Arguments: number of concurrent users (default 256) and measured seconds per mode (default 30).
+ */
+public class ExecutionModeLoadBenchmark {
+
+    private static final String[] PROFILES = {"", "async", "reactive"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        List<LoadGenerator.Result> results = new ArrayList<>();
+        for (String profile : PROFILES) {
+            try (ConfigurableApplicationContext context = start(profile)) {
+                URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/test");
+                results.add(LoadGenerator.run(profile.isEmpty() ? "classic" : profile, uri, users,
+                        Duration.ofSeconds(10), duration));
+            }
+        }
+        results.forEach(System.out::println);
+    }
+
+    static ConfigurableApplicationContext start(String profile, String... properties) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Java14IntroApplication.class)
+                .properties("server.port=0")
+                .properties(properties);
+        if (!profile.isEmpty()) {
+            builder.profiles(profile);
+        }
+        return builder.run();
+    }
+}
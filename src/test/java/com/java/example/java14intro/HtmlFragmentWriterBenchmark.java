@@ -0,0 +1,127 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the trainer page with a growing number of social links:
+ * as one String encoded to bytes versus streamed through HtmlFragmentWriter.
+ * The GC profiler shows the allocation per page, it stays flat for the writer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class HtmlFragmentWriterBenchmark {
+
+    /**
+     * Consumes the bytes without copying them anywhere.
+     */
+    static final class DiscardingChannel implements GatheringByteChannel {
+        long written;
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long bytes = 0;
+            for (int i = offset; i < offset + length; i++) {
+                bytes += sources[i].remaining();
+                sources[i].position(sources[i].limit());
+            }
+            written += bytes;
+            return bytes;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            int bytes = source.remaining();
+            source.position(source.limit());
+            written += bytes;
+            return bytes;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Param({"10", "1000", "100000"})
+    private int links;
+
+    private List<TrainerPage.SocialLink> socialLinks;
+    private final DiscardingChannel channel = new DiscardingChannel();
+    private final HtmlFragmentWriter writer = new HtmlFragmentWriter(channel);
+
+    @Setup
+    public void setUp() {
+        socialLinks = new ArrayList<>();
+        for (int i = 0; i < links; i++) {
+            socialLinks.add(new TrainerPage.SocialLink("https://www.example.com/" + i, "facebook-square"));
+        }
+    }
+
+    @Benchmark
+    public int string() throws IOException {
+        StringBuilder page = new StringBuilder("""
+                <nav class="navbar navbar-expand-lg navbar-light bg-light">
+                    <span class="navbar-toggler-icon"></span>
+                </nav>
+                <div class="information trainer">
+                	<a href="tel:+4860694915"><span class="fa fa-phone" style="color: rgb(255, 0, 0)"></span>&nbsp; +48 606-949-15</a>
+                </div>
+                <div class="second-row">
+                """);
+        for (TrainerPage.SocialLink link : socialLinks) {
+            page.append("""
+                    <div class="information right-side"><a href="%s" target="_blank"><i class="fa fa-%s" style="color: rgb(255, 0, 0)"></i></a></div>
+                    """.formatted(link.url(), link.icon()));
+        }
+        page.append("</div>\n");
+        return channel.write(ByteBuffer.wrap(page.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public long fragmentWriter() throws IOException {
+        TrainerPage.write(writer, "+4860694915", "+48 606-949-15", socialLinks);
+        return channel.written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HtmlFragmentWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
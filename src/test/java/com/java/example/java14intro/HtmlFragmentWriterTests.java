@@ -0,0 +1,100 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HtmlFragmentWriterTests {
+
+    private static final HtmlFragmentWriter.Fragment OPEN = HtmlFragmentWriter.Fragment.of("<p title=\"");
+    private static final HtmlFragmentWriter.Fragment MIDDLE = HtmlFragmentWriter.Fragment.of("\">");
+    private static final HtmlFragmentWriter.Fragment CLOSE = HtmlFragmentWriter.Fragment.of("</p>\n");
+
+    @Test
+    void writesFragmentsAndEscapedValues() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtmlFragmentWriter writer = new HtmlFragmentWriter(Channels.newChannel(out));
+        writer.fragment(OPEN).text("\"Tom & Jerry\"").fragment(MIDDLE).text("<b>ok</b>").number(-42)
+                .raw("<br>").fragment(CLOSE).flush();
+
+        assertEquals("<p title=\"&quot;Tom &amp; Jerry&quot;\">&lt;b&gt;ok&lt;/b&gt;-42<br></p>\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pagesLargerThanScratchBufferAreStreamed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtmlFragmentWriter writer = new HtmlFragmentWriter(Channels.newChannel(out), HtmlFragmentWriter.MIN_SCRATCH_SIZE);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String value = "Kraków ☕ 😀 " + i + " '&'";
+            writer.fragment(OPEN).text(value).fragment(MIDDLE).raw(value).fragment(CLOSE);
+            expected.append("<p title=\"").append(value.replace("&", "&amp;").replace("'", "&#39;"))
+                    .append("\">").append(value).append("</p>\n");
+        }
+        writer.flush();
+
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void longestValuesFitTheSmallestScratchBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtmlFragmentWriter writer = new HtmlFragmentWriter(Channels.newChannel(out), HtmlFragmentWriter.MIN_SCRATCH_SIZE);
+        writer.number(Long.MIN_VALUE).fragment(CLOSE).number(Long.MIN_VALUE).text("\"").number(Long.MAX_VALUE).flush();
+
+        assertEquals(Long.MIN_VALUE + "</p>\n" + Long.MIN_VALUE + "&quot;" + Long.MAX_VALUE,
+                out.toString(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HtmlFragmentWriter(Channels.newChannel(out), HtmlFragmentWriter.MIN_SCRATCH_SIZE - 1));
+    }
+
+    @Test
+    void trainerPageIsWrittenWithGatheringWrites() throws IOException {
+        Path file = Files.createTempFile("trainer", ".html");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            HtmlFragmentWriter writer = new HtmlFragmentWriter(channel);
+            TrainerPage.write(writer, "+4860694915", "+48 606-949-15", List.of(
+                    new TrainerPage.SocialLink("https://www.facebook.com", "facebook-square"),
+                    new TrainerPage.SocialLink("https://www.youtube.com", "youtube-play")));
+        }
+        String page = Files.readString(file);
+        Files.delete(file);
+
+        assertEquals("""
+                <nav class="navbar navbar-expand-lg navbar-light bg-light">
+                    <span class="navbar-toggler-icon"></span>
+                </nav>
+                <div class="information trainer">
+                	<a href="tel:+4860694915"><span class="fa fa-phone" style="color: rgb(255, 0, 0)"></span>&nbsp; +48 606-949-15</a>
+                </div>
+                <div class="second-row">
+                <div class="information right-side"><a href="https://www.facebook.com" target="_blank"><i class="fa fa-facebook-square" style="color: rgb(255, 0, 0)"></i></a></div>
+                <div class="information right-side"><a href="https://www.youtube.com" target="_blank"><i class="fa fa-youtube-play" style="color: rgb(255, 0, 0)"></i></a></div>
+                </div>
+                """, page);
+    }
+
+    @Test
+    void directBufferFragmentsCanBeReadRepeatedly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HtmlFragmentWriter writer = new HtmlFragmentWriter(Channels.newChannel(out));
+        writer.fragment(CLOSE).fragment(CLOSE).flush();
+        writer.fragment(CLOSE).flush();
+
+        assertEquals("</p>\n</p>\n</p>\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(ByteBuffer.wrap("</p>\n".getBytes(StandardCharsets.UTF_8)).remaining(), CLOSE.length());
+    }
+}
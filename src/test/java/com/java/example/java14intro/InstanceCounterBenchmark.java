@@ -0,0 +1,64 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of counting instances with 1 to 64 threads:
+ * InstanceCounter (LongAdder) versus a single AtomicLong and a synchronized counter.
+ * With near-linear scaling the total throughput of the InstanceCounter grows with the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class InstanceCounterBenchmark {
+
+    private final InstanceCounter instanceCounter = InstanceCounter.of(InstanceCounterBenchmark.class);
+    private final AtomicLong atomicCounter = new AtomicLong();
+    private long synchronizedCounter;
+
+    @Benchmark
+    public Restaurant restaurant() {
+        return new Restaurant();
+    }
+
+    @Benchmark
+    public void instanceCounter() {
+        instanceCounter.increment();
+    }
+
+    @Benchmark
+    public long atomicLong() {
+        return atomicCounter.incrementAndGet();
+    }
+
+    @Benchmark
+    public synchronized long synchronizedIncrement() {
+        return ++synchronizedCounter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(InstanceCounterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
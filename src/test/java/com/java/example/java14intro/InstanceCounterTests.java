@@ -0,0 +1,56 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceCounterTests {
+
+    private static final int THREADS = 64;
+    private static final int INSTANCES_PER_THREAD = 100_000;
+
+    @Test
+    void noIncrementIsLostUnderContention() throws Exception {
+        int before = Restaurant.getInstanceCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < INSTANCES_PER_THREAD; j++) {
+                        new Restaurant();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(before + THREADS * INSTANCES_PER_THREAD, Restaurant.getInstanceCounter());
+    }
+
+    @Test
+    void countersAreRegisteredPerType() {
+        assertSame(InstanceCounter.of(Restaurant.class), InstanceCounter.of(Restaurant.class));
+        new Restaurant();
+
+        assertTrue(InstanceCounter.snapshot().stream()
+                .anyMatch(count -> count.type().equals(Restaurant.class.getName()) && count.count() > 0));
+    }
+}
@@ -0,0 +1,136 @@
+package com.java.example.java14intro;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for benchmarks of the rest layer:
+ * every virtual user sends the next request as soon as it gets the previous response.
+ * Latencies of all requests are kept and sorted, so percentiles are exact.
+ */
+final class LoadGenerator {
+
+    /**
+     * Result of one run, latencies in microseconds.
+     */
+    record Result(String name, long requests, long errors, double requestsPerSecond,
+                  long p50, long p99, long p999, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-12s requests=%,d errors=%,d rps=%,.0f p50=%,dus p99=%,dus p99.9=%,dus max=%,dus",
+                    name, requests, errors, requestsPerSecond, p50, p99, p999, max);
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Sends GET requests to the uri with the given number of concurrent users,
+     * the warm-up requests are sent first and are not measured.
+     */
+    static Result run(String name, URI uri, int users, Duration warmUp, Duration duration)
+            throws InterruptedException {
+        return run(name, HttpRequest.newBuilder(uri).GET().build(), users, warmUp, duration);
+    }
+
+    static Result run(String name, HttpRequest request, int users, Duration warmUp, Duration duration)
+            throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(users);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        List<long[]> latencies;
+        double seconds;
+        try {
+            load(client, request, users, warmUp);
+            long start = System.nanoTime();
+            latencies = load(client, request, users, duration);
+            seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        } finally {
+            clientExecutor.shutdown();
+        }
+
+        long errors = 0;
+        int count = 0;
+        for (long[] userLatencies : latencies) {
+            errors += userLatencies[0];
+            count += userLatencies.length - 1;
+        }
+        long[] all = new long[count];
+        int position = 0;
+        for (long[] userLatencies : latencies) {
+            System.arraycopy(userLatencies, 1, all, position, userLatencies.length - 1);
+            position += userLatencies.length - 1;
+        }
+        Arrays.sort(all);
+        return new Result(name, count, errors, count / seconds,
+                percentile(all, 0.5), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    /**
+     * Returns latencies per user, the first element of each array is the number of errors.
+     */
+    private static List<long[]> load(HttpClient client, HttpRequest request, int users, Duration duration)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 1;
+                while (System.nanoTime() < deadline) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            latencies[0]++;
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        latencies[0]++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = (System.nanoTime() - requestStart) / 1000;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> latencies = new ArrayList<>();
+        try {
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
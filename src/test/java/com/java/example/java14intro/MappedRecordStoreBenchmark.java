@@ -0,0 +1,110 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm restart with millions of RecordExample records already on disk (page cache):
+ * opening a MappedRecordStore and reading one record or scanning one column,
+ * versus reading the file of RecordCodec-encoded records and decoding all of them, as a restart has to do today.
+ * One operation is one restart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class MappedRecordStoreBenchmark {
+
+    @Param({"5000000"})
+    private int size;
+
+    private Path storeFile;
+    private Path codecFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("warm-restart");
+        storeFile = directory.resolve("records.bin");
+        codecFile = directory.resolve("records.codec");
+        List<RecordExample> records = RecordColumnsBenchmark.list(size);
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(storeFile, RecordExample.class)) {
+            store.appendAll(records);
+            store.commit();
+        }
+        RecordCodec<RecordExample> codec = RecordCodec.of(RecordExample.class);
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        try (FileChannel channel = FileChannel.open(codecFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            for (RecordExample record : records) {
+                if (buffer.remaining() < 256) {
+                    channel.write(buffer.flip());
+                    buffer.clear();
+                }
+                codec.encode(record, buffer);
+            }
+            channel.write(buffer.flip());
+        }
+    }
+
+    @Benchmark
+    public RecordExample mappedOpenAndGet() throws IOException {
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(storeFile, RecordExample.class)) {
+            return store.get(ThreadLocalRandom.current().nextInt(store.size()));
+        }
+    }
+
+    @Benchmark
+    public int mappedOpenAndScan() throws IOException {
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(storeFile, RecordExample.class)) {
+            int shape = store.component("shape");
+            int count = 0;
+            for (int i = 0; i < store.size(); i++) {
+                if (store.stringEquals(i, shape, "circle")) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Benchmark
+    public List<RecordExample> decodeEverything() throws IOException {
+        RecordCodec<RecordExample> codec = RecordCodec.of(RecordExample.class);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(codecFile));
+        List<RecordExample> records = new ArrayList<>(size);
+        while (buffer.hasRemaining()) {
+            records.add(codec.decode(buffer));
+        }
+        return records;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappedRecordStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedRecordStoreTests {
+
+    record Measurement(String station, DayOfWeek day, int count, long total, double average, boolean valid) {
+    }
+
+    record Nested(Measurement measurement) {
+    }
+
+    private final Path file = createTempFile();
+
+    private static Path createTempFile() {
+        try {
+            return Files.createTempDirectory("records").resolve("records.bin");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void committedRecordsSurviveReopen() throws IOException {
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(file, RecordExample.class)) {
+            for (int i = 0; i < 5_000; i++) {
+                store.append(new RecordExample("name-" + i, i % 2 == 0 ? "circle" : "kółko"));
+            }
+            store.commit();
+        }
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(file, RecordExample.class)) {
+            assertEquals(5_000, store.size());
+            assertEquals(new RecordExample("name-4999", "kółko"), store.get(4999));
+            int shape = store.component("shape");
+            assertEquals("circle", store.getString(10, shape));
+            assertTrue(store.stringEquals(10, shape, "circle"));
+            assertFalse(store.stringEquals(10, shape, "circ"));
+            assertTrue(store.stringEquals(11, shape, "kółko"));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(5_000));
+
+            store.append(new RecordExample("name-5000", "square"));
+            store.commit();
+        }
+        try (MappedRecordStore<RecordExample> store = MappedRecordStore.open(file, RecordExample.class)) {
+            assertEquals(5_001, store.size());
+            assertEquals(new RecordExample("name-5000", "square"), store.get(5_000));
+        }
+    }
+
+    @Test
+    void recordsAfterTheLastCommitAreDropped() throws IOException {
+        try (MappedRecordStore<Person> store = MappedRecordStore.open(file, Person.class)) {
+            store.append(new Person("John", "Smith"));
+            store.commit();
+            store.append(new Person("Mary", "Jones"));
+            assertEquals(2, store.size());
+        }
+        try (MappedRecordStore<Person> store = MappedRecordStore.open(file, Person.class)) {
+            assertEquals(1, store.size());
+            store.append(new Person("Anna", "Brown"));
+            assertEquals(new Person("Anna", "Brown"), store.get(1));
+        }
+    }
+
+    @Test
+    void corruptNewestHeaderFallsBackToThePreviousCommit() throws IOException {
+        try (MappedRecordStore<Person> store = MappedRecordStore.open(file, Person.class)) {
+            store.append(new Person("John", "Smith"));
+            store.commit();
+            store.append(new Person("Mary", "Jones"));
+            store.commit();
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(24); // count of the header copy written by the second commit
+            raw.writeLong(99);
+        }
+        try (MappedRecordStore<Person> store = MappedRecordStore.open(file, Person.class)) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void primitiveAndEnumComponents() throws IOException {
+        Measurement measurement = new Measurement(null, DayOfWeek.FRIDAY, 7, 1L << 40, 2.5, true);
+        try (MappedRecordStore<Measurement> store = MappedRecordStore.open(file, Measurement.class)) {
+            store.append(measurement);
+            store.append(new Measurement("north", null, -1, 0, 0, false));
+            store.commit();
+        }
+        try (MappedRecordStore<Measurement> store = MappedRecordStore.open(file, Measurement.class)) {
+            assertEquals(measurement, store.get(0));
+            assertNull(store.get(1).day());
+            assertEquals(7, store.getInt(0, store.component("count")));
+            assertEquals(1L << 40, store.getLong(0, store.component("total")));
+            assertEquals(2.5, store.getDouble(0, store.component("average")));
+            assertTrue(store.stringEquals(0, store.component("station"), null));
+            assertThrows(IllegalArgumentException.class, () -> store.getInt(0, store.component("total")));
+        }
+    }
+
+    @Test
+    void otherLayoutsAreRejected() throws IOException {
+        try (MappedRecordStore<Person> store = MappedRecordStore.open(file, Person.class)) {
+            store.append(new Person("John", "Smith"));
+            store.commit();
+        }
+        assertThrows(IllegalStateException.class, () -> MappedRecordStore.open(file, RecordExample.class));
+        Path other = file.resolveSibling("other.bin");
+        assertThrows(IllegalArgumentException.class, () -> MappedRecordStore.open(other, Nested.class).close());
+    }
+}
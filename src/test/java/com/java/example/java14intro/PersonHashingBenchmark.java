@@ -0,0 +1,143 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * HashMap lookup latency for Person keys before (constant hash 18) and after (RecordHashing).
+ * With the constant hash every key goes to one treeified bin and, as Person is not Comparable,
+ * a lookup walks most of the tree, so the "before" case is only measured at 10k keys:
+ * filling a map with a million colliding keys takes hours.
+ * main() prints the bucket distribution report for 10k, 1M and 10M keys before running JMH.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx6g"})
+public class PersonHashingBenchmark {
+
+    /**
+     * Person as it was before RecordHashing.
+     */
+    record ConstantHashPerson(String firstName, String secondName) {
+        @Override
+        public int hashCode() {
+            return 18;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MixedHash {
+        @Param({"10000", "1000000", "10000000"})
+        int size;
+
+        Person[] keys;
+        Map<Person, Integer> map;
+
+        @Setup
+        public void setUp() {
+            keys = new Person[size];
+            map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = person(i);
+                map.put(keys[i], i);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConstantHash {
+        @Param({"10000"})
+        int size;
+
+        ConstantHashPerson[] keys;
+        Map<ConstantHashPerson, Integer> map;
+
+        @Setup
+        public void setUp() {
+            keys = new ConstantHashPerson[size];
+            map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = new ConstantHashPerson(firstName(i), secondName(i));
+                map.put(keys[i], i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer lookupMixedHash(MixedHash state) {
+        return state.map.get(state.keys[ThreadLocalRandom.current().nextInt(state.size)]);
+    }
+
+    @Benchmark
+    public Integer lookupConstantHash(ConstantHash state) {
+        return state.map.get(state.keys[ThreadLocalRandom.current().nextInt(state.size)]);
+    }
+
+    static Person person(int i) {
+        return new Person(firstName(i), secondName(i));
+    }
+
+    private static String firstName(int i) {
+        return "first" + (i % 1000);
+    }
+
+    private static String secondName(int i) {
+        return "second" + (i / 1000);
+    }
+
+    /**
+     * Fills HashMap-sized bucket counters the way HashMap spreads hashes and prints how keys are spread.
+     */
+    static void printDistribution(String label, int size, IntFunction<Object> keys, ToIntFunction<Object> hash) {
+        int capacity = Integer.highestOneBit((int) Math.ceil(size / 0.75) - 1) << 1;
+        int[] buckets = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            int h = hash.applyAsInt(keys.apply(i));
+            buckets[(h ^ (h >>> 16)) & (capacity - 1)]++;
+        }
+        int used = 0;
+        int max = 0;
+        for (int count : buckets) {
+            if (count > 0) {
+                used++;
+                max = Math.max(max, count);
+            }
+        }
+        // for a uniform hash the expected share of non-empty buckets is 1 - e^(-size/capacity)
+        double expectedUsed = capacity * (1 - Math.exp(-(double) size / capacity));
+        System.out.printf("%-10s keys=%,12d buckets=%,12d used=%,12d (expected %,.0f) max bucket=%,d avg used bucket=%.2f%n",
+                label, size, capacity, used, expectedUsed, max, (double) size / used);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int size : new int[]{10_000, 1_000_000, 10_000_000}) {
+            printDistribution("constant", size,
+                    i -> new ConstantHashPerson(firstName(i), secondName(i)), Object::hashCode);
+            printDistribution("mixed", size, PersonHashingBenchmark::person, Object::hashCode);
+        }
+        new Runner(new OptionsBuilder()
+                .include(PersonHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
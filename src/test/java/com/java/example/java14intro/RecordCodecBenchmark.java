@@ -0,0 +1,115 @@
+package com.java.example.java14intro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a Person-like record with RecordCodec, java serialization and jackson.
+ * Person is not Serializable and jackson of spring boot 2.2 cannot create records,
+ * so the other two work on a Serializable record and a bean with the same components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RecordCodecBenchmark {
+
+    record SerializablePerson(String firstName, String secondName) implements Serializable {}
+
+    public static class PersonBean {
+        public String firstName;
+        public String secondName;
+    }
+
+    private final Person person = new Person("John", "Smith");
+    private final SerializablePerson serializablePerson = new SerializablePerson("John", "Smith");
+    private final PersonBean personBean = new PersonBean();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecordCodec<Person> codec = RecordCodec.of(Person.class);
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    private byte[] codecBytes;
+    private byte[] serializedBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        personBean.firstName = "John";
+        personBean.secondName = "Smith";
+        buffer.clear();
+        codec.encode(person, buffer);
+        codecBytes = new byte[buffer.flip().remaining()];
+        buffer.get(codecBytes);
+        serializedBytes = javaSerialization();
+        jsonBytes = jackson();
+    }
+
+    @Benchmark
+    public ByteBuffer recordCodec() {
+        buffer.clear();
+        codec.encode(person, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] javaSerialization() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(serializablePerson);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] jackson() throws IOException {
+        return objectMapper.writeValueAsBytes(personBean);
+    }
+
+    @Benchmark
+    public Person recordCodecDecode() {
+        return codec.decode(ByteBuffer.wrap(codecBytes));
+    }
+
+    @Benchmark
+    public Object javaSerializationDecode() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedBytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public PersonBean jacksonDecode() throws IOException {
+        return objectMapper.readValue(jsonBytes, PersonBean.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordCodecTests {
+
+    record Measurement(String sensor, int id, long timestamp, double value, boolean valid) {}
+
+    enum Unit {CM, INCH}
+
+    record Length(Unit unit, Shape<Integer> value) {}
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    @Test
+    void stringRecordsRoundTrip() {
+        assertRoundTrip(new Person("John", "Smith"));
+        assertRoundTrip(new Bill("Kraków, Floriańska 1 ☕ 😀"));
+        assertRoundTrip(new Administrator("John"));
+        assertRoundTrip(new RecordExample("triangle", "polygon"));
+    }
+
+    @Test
+    void emptyAndNestedRecordsRoundTrip() {
+        assertRoundTrip(new Base());
+        assertRoundTrip(new ExampleWithNestedRecord.NestedRecord());
+        assertRoundTrip(new Length(Unit.INCH, new Shape<>(12)));
+        assertRoundTrip(new Length(null, null));
+    }
+
+    @Test
+    void primitiveComponentsRoundTrip() {
+        assertRoundTrip(new Measurement("t-1", 7, Long.MAX_VALUE, -0.5, true));
+    }
+
+    @Test
+    void genericComponentsKeepRuntimeType() {
+        assertRoundTrip(new Shape<>("triangle"));
+        assertRoundTrip(new Shape<>(42L));
+        assertRoundTrip(new Shape<>(new RecordExample("square", "polygon")));
+        assertRoundTrip(new Shape<>(new Shape<>(new Base())));
+        assertRoundTrip(new Shape<>(null));
+    }
+
+    @Test
+    void buffersAreReused() {
+        RecordCodec<Person> codec = RecordCodec.of(Person.class);
+        for (int i = 0; i < 3; i++) {
+            buffer.clear();
+            codec.encode(new Person("John" + i, "Smith"), buffer);
+            buffer.flip();
+            assertEquals(new Person("John" + i, "Smith"), codec.decode(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    void directBuffersRoundTrip() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        RecordCodec.of(Person.class).encode(new Person("John", "Smith"), direct);
+        direct.flip();
+        assertEquals(new Person("John", "Smith"), RecordCodec.of(Person.class).decode(direct));
+    }
+
+    @Test
+    void unsupportedValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordCodec.of(Shape.class).encode(new Shape<>(new Triangle()), buffer));
+    }
+
+    @Test
+    void unknownEnumOrdinalsAreRejected() {
+        RecordCodec<Length> codec = RecordCodec.of(Length.class);
+        for (int ordinal : new int[]{Unit.values().length, -1}) {
+            buffer.clear();
+            codec.encode(new Length(Unit.CM, null), buffer);
+            buffer.flip();
+            // the null marker of the unit is followed by its ordinal
+            buffer.putInt(1, ordinal);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer));
+            assertEquals("unknown ordinal " + ordinal + " of " + Unit.class.getName(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R extends Record> void assertRoundTrip(R record) {
+        RecordCodec<R> codec = RecordCodec.of((Class<R>) record.getClass());
+        buffer.clear();
+        codec.encode(record, buffer);
+        buffer.flip();
+        assertEquals(record, codec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
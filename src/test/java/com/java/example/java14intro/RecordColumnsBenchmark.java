@@ -0,0 +1,109 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan throughput of RecordColumns versus ArrayList<RecordExample>: counting rows with a given shape.
+ * main() first prints heap bytes per row of both containers, measured as used heap after GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class RecordColumnsBenchmark {
+
+    private static final String[] SHAPES = {"triangle", "square", "circle", "hexagon", "polygon"};
+
+    @Param({"10000000"})
+    private int size;
+
+    private List<RecordExample> list;
+    private RecordColumns<RecordExample> columns;
+    private int shapeColumn;
+
+    @Setup
+    public void setUp() {
+        list = list(size);
+        columns = RecordColumns.of(RecordExample.class);
+        columns.addAll(list);
+        shapeColumn = columns.column("shape");
+    }
+
+    /**
+     * Names repeat the way they do in feeds, but are new String instances like the ones read from a database.
+     */
+    static List<RecordExample> list(int size) {
+        List<RecordExample> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new RecordExample(new String("name-" + (i % 100_000)), new String(SHAPES[i % SHAPES.length])));
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long scanList() {
+        long count = 0;
+        for (RecordExample record : list) {
+            if ("circle".equals(record.shape())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long scanColumns() {
+        return columns.filterEquals(shapeColumn, "circle").cardinality();
+    }
+
+    @Benchmark
+    public BitSet filterColumns() {
+        return columns.filter(shapeColumn, shape -> shape.startsWith("c") || shape.startsWith("t"));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int size = 1_000_000;
+        long empty = usedHeap();
+        List<RecordExample> list = list(size);
+        long withList = usedHeap();
+        RecordColumns<RecordExample> columns = RecordColumns.of(RecordExample.class);
+        columns.addAll(list);
+        list = null;
+        long withColumns = usedHeap();
+        System.out.printf("ArrayList<RecordExample>: %.1f bytes per row%n", (double) (withList - empty) / size);
+        System.out.printf("RecordColumns:            %.1f bytes per row (estimated %.1f)%n",
+                (double) (withColumns - empty) / columns.size(), (double) columns.estimatedBytes() / columns.size());
+
+        new Runner(new OptionsBuilder()
+                .include(RecordColumnsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordColumnsTests {
+
+    record Reading(String sensor, int id, long timestamp, double value) {}
+
+    @Test
+    void recordsAreRebuiltOnAccess() {
+        RecordColumns<RecordExample> columns = RecordColumns.of(RecordExample.class);
+        for (int i = 0; i < 100; i++) {
+            columns.add(new RecordExample("name-" + (i % 10), i % 2 == 0 ? "triangle" : null));
+        }
+
+        assertEquals(100, columns.size());
+        assertEquals(new RecordExample("name-3", null), columns.get(13));
+        assertEquals(new RecordExample("name-4", "triangle"), columns.get(14));
+        assertEquals(10, columns.distinct(columns.column("name")));
+        assertSame(columns.string(1, 0), columns.string(11, 0));
+    }
+
+    @Test
+    void filtersWorkOnColumns() {
+        RecordColumns<RecordExample> columns = RecordColumns.of(RecordExample.class);
+        columns.add(new RecordExample("a", "triangle"));
+        columns.add(new RecordExample("b", "square"));
+        columns.add(new RecordExample("c", "triangle"));
+        columns.add(new RecordExample("d", null));
+        int shape = columns.column("shape");
+
+        assertEquals(BitSet.valueOf(new long[]{0b101}), columns.filterEquals(shape, "triangle"));
+        assertEquals(BitSet.valueOf(new long[]{0b1000}), columns.filterEquals(shape, null));
+        assertEquals(new BitSet(), columns.filterEquals(shape, "circle"));
+        assertEquals(BitSet.valueOf(new long[]{0b10}), columns.filter(shape, s -> s != null && s.startsWith("sq")));
+    }
+
+    @Test
+    void primitiveComponentsAreStoredInPrimitiveColumns() {
+        RecordColumns<Reading> columns = RecordColumns.of(Reading.class);
+        for (int i = 0; i < 1000; i++) {
+            columns.add(new Reading("sensor-" + (i % 3), i, 1000L * i, i / 2.0));
+        }
+
+        assertEquals(new Reading("sensor-1", 10, 10_000L, 5.0), columns.get(10));
+        assertEquals(10, columns.intValue(10, columns.column("id")));
+        assertEquals(10_000L, columns.longValue(10, columns.column("timestamp")));
+        assertEquals(100, columns.filterDouble(columns.column("value"), v -> v >= 450).cardinality());
+        assertEquals(500, columns.filterInt(columns.column("id"), id -> id % 2 == 0).cardinality());
+        assertThrows(IllegalArgumentException.class, () -> columns.filterInt(columns.column("sensor"), id -> true));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(1000));
+    }
+}
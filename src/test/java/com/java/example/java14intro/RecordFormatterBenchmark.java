@@ -0,0 +1,86 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated and hand-written toString() versus RecordFormatter appending into a reused StringBuilder,
+ * for RecordExample, Person, RecordsExample and a log line with two records.
+ * Run with the GC profiler: gc.alloc.rate.norm of the formatter benchmarks is expected to be 0 bytes per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RecordFormatterBenchmark {
+
+    private final RecordExample recordExample = new RecordExample("circle", "round");
+    private final Person person = new Person("John", "Smith");
+    private final RecordsExample recordsExample = new RecordsExample("circle", "round");
+    private final Object[] logArguments = {person, recordExample};
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    @Benchmark
+    public String recordExampleToString() {
+        return recordExample.toString();
+    }
+
+    @Benchmark
+    public int recordExampleFormatter() {
+        buffer.setLength(0);
+        return RecordFormatter.appendTo(buffer, recordExample).length();
+    }
+
+    @Benchmark
+    public String personToString() {
+        return person.toString();
+    }
+
+    @Benchmark
+    public int personFormatter() {
+        return RecordFormatter.appendTo(RecordFormatter.pooled(), person).length();
+    }
+
+    @Benchmark
+    public String recordsExampleToString() {
+        return recordsExample.toString();
+    }
+
+    @Benchmark
+    public int recordsExampleFormatTo() {
+        buffer.setLength(0);
+        return recordsExample.formatTo(buffer).length();
+    }
+
+    @Benchmark
+    public String logLineWithToString() {
+        return "request from " + person + " for " + recordExample;
+    }
+
+    @Benchmark
+    public int logLineWithFormatter() {
+        return RecordMessageConverter.format(RecordFormatter.pooled(), "request from {} for {}", logArguments).length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordFormatterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
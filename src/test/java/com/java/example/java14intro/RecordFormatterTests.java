@@ -0,0 +1,76 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RecordFormatterTests {
+
+    record Primitives(int i, long l, double d, float f, boolean b, char c, byte by, short s) {
+    }
+
+    record Mixed(String text, Object object, DayOfWeek day, List<String> list, Shape<Integer> shape, Primitives primitives) {
+    }
+
+    record OwnToString(String name) {
+        @Override
+        public String toString() {
+            return "custom " + name;
+        }
+    }
+
+    record Wrapper(OwnToString inner, ExampleWithNestedRecord.NestedRecord nested) {
+    }
+
+    @Test
+    void outputMatchesGeneratedToString() {
+        Primitives primitives = new Primitives(-1, Long.MAX_VALUE, 0.1, 1.5f, true, 'x', (byte) 7, (short) -3);
+        List<Record> records = List.of(
+                new RecordExample("circle", "round"),
+                new Person("John", "Smith"),
+                new Base(),
+                primitives,
+                new Mixed(null, 42L, DayOfWeek.MONDAY, List.of("a", "b"), new Shape<>(5), primitives),
+                new Mixed("text", new Bill("Floriańska 1"), null, List.of(), new Shape<>(null), null),
+                new Wrapper(new OwnToString("name"), new ExampleWithNestedRecord.NestedRecord()),
+                new OwnToString("top"));
+        for (Record record : records) {
+            assertEquals(record.toString(), RecordFormatter.appendTo(new StringBuilder(), record).toString());
+        }
+    }
+
+    @Test
+    void formattablesAndPooledBuilder() {
+        RecordsExample example = new RecordsExample("circle", "round");
+        assertEquals(example.toString(), RecordFormatter.appendValue(new StringBuilder(), example).toString());
+
+        StringBuilder pooled = RecordFormatter.pooled().append("something");
+        assertSame(pooled, RecordFormatter.pooled());
+        assertEquals(0, pooled.length());
+        assertEquals("null", RecordFormatter.appendTo(pooled, null).toString());
+    }
+
+    @Test
+    void pooledBuilderCanBeLogged() {
+        Object[] arguments = {RecordFormatter.appendTo(RecordFormatter.pooled(), new RecordExample("Tomas", "circle"))};
+        assertEquals("hit RecordExample[name=Tomas, shape=circle]", RecordMessageConverter.format("hit {}", arguments));
+    }
+
+    @Test
+    void logMessagesFollowSlf4jPlaceholders() {
+        Object[] arguments = {new RecordExample("circle", "round"), 7};
+        assertEquals("got RecordExample[name=circle, shape=round] in 7ms",
+                RecordMessageConverter.format(new StringBuilder(), "got {} in {}ms", arguments).toString());
+        assertEquals("literal {} then RecordExample[name=circle, shape=round], rest {}",
+                RecordMessageConverter.format(new StringBuilder(), "literal \\{} then {}, rest {}",
+                        new Object[]{arguments[0]}).toString());
+        assertEquals("path C:\\7", RecordMessageConverter.format(new StringBuilder(), "path C:\\\\{}",
+                new Object[]{7}).toString());
+        assertEquals("no placeholders", RecordMessageConverter.format(new StringBuilder(), "no placeholders",
+                arguments).toString());
+    }
+}
@@ -0,0 +1,39 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordHashingTests {
+
+    @Test
+    void equalRecordsHaveEqualHashes() {
+        assertEquals(new Person("John", "Smith").hashCode(), new Person("John", "Smith").hashCode());
+        assertEquals(RecordHashing.hash(new Administrator("John")), RecordHashing.hash(new Administrator("John")));
+    }
+
+    @Test
+    void recordHashMatchesComponentHash() {
+        Person person = new Person("John", "Smith");
+        assertEquals(RecordHashing.hash("John", "Smith"), person.hashCode());
+        assertEquals(RecordHashing.hash(person), person.hashCode());
+    }
+
+    @Test
+    void personHashesAreSpread() {
+        Set<Integer> hashes = new HashSet<>();
+        Set<Integer> buckets = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            int hash = PersonHashingBenchmark.person(i).hashCode();
+            hashes.add(hash);
+            buckets.add((hash ^ (hash >>> 16)) & (16384 - 1));
+        }
+        assertEquals(10_000, hashes.size());
+        // a uniform hash fills about 1 - e^(-10000/16384) = 46% of buckets
+        assertTrue(buckets.size() > 7_000, "used buckets: " + buckets.size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interning throughput of RecordInterner (striped LRU) versus an unbounded ConcurrentHashMap,
+ * over a feed of RecordExample with 100k distinct (name, shape) pairs and a cache of 50k entries, 1 to 64 threads.
+ * main() also prints the hit rate and the estimated memory saved for one pass over the feed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RecordInternerBenchmark {
+
+    private static final int FEED = 1 << 20;
+
+    private List<RecordExample> feed;
+    private RecordInterner<RecordExample> interner;
+    private ConcurrentHashMap<RecordExample, RecordExample> map;
+
+    @Setup
+    public void setUp() {
+        feed = RecordColumnsBenchmark.list(FEED);
+        interner = RecordInterner.bounded(RecordExample.class, 50_000);
+        map = new ConcurrentHashMap<>();
+    }
+
+    @Benchmark
+    public RecordExample recordInterner() {
+        return interner.intern(feed.get(ThreadLocalRandom.current().nextInt(FEED)));
+    }
+
+    @Benchmark
+    public RecordExample concurrentHashMap() {
+        RecordExample record = feed.get(ThreadLocalRandom.current().nextInt(FEED));
+        RecordExample canonical = map.putIfAbsent(record, record);
+        return canonical == null ? record : canonical;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        RecordInterner<RecordExample> interner = RecordInterner.bounded(RecordExample.class, 50_000);
+        RecordColumnsBenchmark.list(FEED).forEach(interner::intern);
+        System.out.println(interner);
+
+        for (int threads : new int[]{1, 4, 16, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(RecordInternerBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
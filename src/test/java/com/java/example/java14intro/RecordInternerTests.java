@@ -0,0 +1,98 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordInternerTests {
+
+    record ConstantHash(String name) {
+        @Override
+        public int hashCode() {
+            return 18;
+        }
+    }
+
+    @Test
+    void equalRecordsShareOneInstance() {
+        RecordInterner<RecordExample> interner = RecordInterner.bounded(RecordExample.class, 1000);
+        RecordExample first = new RecordExample(new String("name"), new String("circle"));
+        RecordExample duplicate = new RecordExample(new String("name"), new String("circle"));
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(duplicate));
+        assertSame(first, interner.intern(first));
+        assertEquals(2, interner.hits());
+        assertEquals(1, interner.misses());
+        assertEquals(2.0 / 3, interner.hitRate(), 1e-9);
+        // 24 bytes of the record and 2 Latin-1 strings of 4 and 6 chars, 48 bytes each
+        assertEquals(2 * (24 + 48 + 48), interner.bytesSaved());
+    }
+
+    @Test
+    void leastRecentlyUsedRecordsAreEvicted() {
+        RecordInterner<Administrator> interner = RecordInterner.bounded(Administrator.class, 64);
+        for (int i = 0; i < 10_000; i++) {
+            interner.intern(new Administrator("admin" + i, "smith"));
+        }
+        assertTrue(interner.size() <= 64, () -> "size " + interner.size());
+        Administrator evicted = new Administrator("admin0", "smith");
+        assertSame(evicted, interner.intern(evicted));
+    }
+
+    @Test
+    void constantHashDisablesCaching() {
+        RecordInterner<ConstantHash> interner = RecordInterner.bounded(ConstantHash.class, 100_000);
+        for (int i = 0; i < RecordInterner.SAMPLE; i++) {
+            interner.intern(new ConstantHash("name" + i));
+        }
+        assertTrue(interner.hashBroken());
+        assertEquals(0, interner.size());
+        ConstantHash record = new ConstantHash("name0");
+        assertSame(record, interner.intern(record));
+
+        RecordInterner<Person> persons = RecordInterner.bounded(Person.class, 100_000);
+        for (int i = 0; i < RecordInterner.SAMPLE; i++) {
+            persons.intern(new Person("John" + i, "Smith"));
+        }
+        assertFalse(persons.hashBroken());
+    }
+
+    @Test
+    void concurrentInterningReturnsOneCanonicalInstance() throws Exception {
+        RecordInterner<RecordExample> interner = RecordInterner.bounded(RecordExample.class, 10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<RecordExample[]>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                RecordExample[] canonical = new RecordExample[100];
+                for (int round = 0; round < 100; round++) {
+                    for (int i = 0; i < 100; i++) {
+                        canonical[i] = interner.intern(new RecordExample("name" + i, "circle"));
+                    }
+                }
+                return canonical;
+            }));
+        }
+        RecordExample[] first = futures.get(0).get();
+        for (Future<RecordExample[]> future : futures) {
+            RecordExample[] canonical = future.get();
+            for (int i = 0; i < 100; i++) {
+                assertSame(first[i], canonical[i]);
+            }
+        }
+        executor.shutdown();
+        assertEquals(100, interner.misses());
+        assertNotSame(first[0], new RecordExample("name0", "circle"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all components of a record the way mapping code does it once per object:
+ * through NewReflectionApi.getRecordComponents(Class) and Method.invoke
+ * versus the cached RecordMetadata with method handle accessors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RecordMetadataBenchmark {
+
+    private final RecordExample record = new RecordExample("triangle", "polygon");
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) throws IllegalAccessException, InvocationTargetException {
+        for (RecordComponent component : NewReflectionApi.getRecordComponents(record.getClass())) {
+            blackhole.consume(component.getAccessor().invoke(record));
+        }
+    }
+
+    @Benchmark
+    public void componentsOnly(Blackhole blackhole) {
+        blackhole.consume(NewReflectionApi.getRecordComponents(record.getClass()));
+    }
+
+    @Benchmark
+    public void cachedMetadata(Blackhole blackhole) {
+        RecordMetadata metadata = RecordMetadata.of(record.getClass());
+        for (int i = 0; i < metadata.size(); i++) {
+            blackhole.consume(metadata.get(record, i));
+        }
+    }
+
+    @Benchmark
+    public void cachedComponentsOnly(Blackhole blackhole) {
+        blackhole.consume(RecordMetadata.of(record.getClass()).components());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordMetadataBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordMetadataTests {
+
+    @Test
+    void metadataIsCachedPerType() {
+        assertSame(RecordMetadata.of(RecordExample.class), RecordMetadata.of(RecordExample.class));
+        assertSame(RecordMetadata.of(RecordExample.class).components(), RecordMetadata.of(RecordExample.class).components());
+    }
+
+    @Test
+    void readsComponentsInDeclarationOrder() {
+        RecordMetadata metadata = RecordMetadata.of(RecordExample.class);
+        RecordExample record = new RecordExample("triangle", "polygon");
+
+        assertTrue(metadata.isRecord());
+        assertEquals(2, metadata.size());
+        assertEquals("name", metadata.name(0));
+        assertEquals("shape", metadata.name(1));
+        assertEquals("triangle", metadata.get(record, 0));
+        assertEquals("polygon", metadata.get(record, 1));
+    }
+
+    @Test
+    void createsRecordsThroughCanonicalConstructor() {
+        assertEquals(new RecordExample("triangle", "polygon"),
+                RecordMetadata.of(RecordExample.class).newInstance("triangle", "polygon"));
+        assertEquals(new Base(), RecordMetadata.of(Base.class).newInstance());
+    }
+
+    @Test
+    void compactConstructorValidationIsKept() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordMetadata.of(Person.class).newInstance("Tom", "Doe"));
+    }
+
+    @Test
+    void classIsNotRecord() {
+        RecordMetadata metadata = RecordMetadata.of(RecordsExample.class);
+
+        assertFalse(metadata.isRecord());
+        assertEquals(0, metadata.size());
+        assertThrows(IllegalArgumentException.class, metadata::newInstance);
+    }
+}
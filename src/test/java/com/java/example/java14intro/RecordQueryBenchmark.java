@@ -0,0 +1,79 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Scaling of RecordQuery over 5M RecordExample records with 1 to 64 cores (pool parallelism) in every mode:
+ * a filtered group-by count of shapes, and the same query hand-written for the type as the sequential baseline.
+ * The speed-up of a mode is the time with parallelism 1 divided by the time with parallelism n.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class RecordQueryBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    private int parallelism;
+
+    @Param({"SEQUENTIAL", "PARALLEL_STREAM", "FORK_JOIN"})
+    private RecordQuery.Mode mode;
+
+    private List<RecordExample> records;
+    private ForkJoinPool pool;
+    private RecordQuery<RecordExample> query;
+
+    @Setup
+    public void setUp() {
+        records = RecordColumnsBenchmark.list(5_000_000);
+        pool = new ForkJoinPool(parallelism);
+        query = RecordQuery.of(RecordExample.class)
+                .where("name", String.class, name -> name.endsWith("7"))
+                .mode(mode, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<Object, Long> recordQuery() {
+        return query.count(records, "shape");
+    }
+
+    @Benchmark
+    public Map<String, Long> handWritten() {
+        return records.stream()
+                .filter(record -> record.name().endsWith("7"))
+                .collect(Collectors.groupingBy(RecordExample::shape, Collectors.counting()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
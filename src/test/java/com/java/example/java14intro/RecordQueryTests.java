@@ -0,0 +1,94 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordQueryTests {
+
+    record Sale(String shape, int amount, double price) {
+    }
+
+    private final List<RecordExample> examples = List.of(
+            new RecordExample("anna", "circle"),
+            new RecordExample("bob", "square"),
+            new RecordExample("alice", "circle"),
+            new RecordExample("adam", "triangle"));
+
+    @Test
+    void filterProjectAndGroup() {
+        RecordQuery<RecordExample> query = RecordQuery.of(RecordExample.class)
+                .where("name", String.class, name -> name.startsWith("a"));
+
+        assertEquals(3, query.count(examples));
+        assertEquals(List.of("anna", "alice", "adam"), query.select(examples, "name"));
+        assertArrayEquals(new Object[]{"adam", "triangle"}, query.select(examples, "name", "shape").get(2));
+        assertEquals(Map.of("circle", 2L, "triangle", 1L), query.count(examples, "shape"));
+        assertEquals(List.of("circle", "triangle"), new ArrayList<>(query.groupBy(examples, "shape").keySet()));
+        assertEquals(List.of(examples.get(0), examples.get(2)), query.groupBy(examples, "shape").get("circle"));
+    }
+
+    @Test
+    void numericAggregation() {
+        List<Sale> sales = List.of(new Sale("circle", 2, 1.5), new Sale("square", 1, 4), new Sale("circle", 3, 0.5));
+        RecordQuery<Sale> query = RecordQuery.of(Sale.class);
+
+        DoubleSummaryStatistics circles = query.summarize(sales, "shape", "amount").get("circle");
+        assertEquals(5.0, circles.getSum());
+        assertEquals(2, circles.getCount());
+        assertEquals(Map.of("circle", 2.0, "square", 4.0),
+                query.aggregate(sales, "shape", Collectors.summingDouble(query.numericComponent("price"))));
+        assertThrows(IllegalArgumentException.class, () -> query.numericComponent("shape"));
+        assertThrows(IllegalArgumentException.class, () -> query.component("size"));
+    }
+
+    @Test
+    void nullComponentsFormAGroup() {
+        List<Administrator> administrators = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            administrators.add(i % 3 == 0 ? new Administrator("John") : new Administrator("John", "Smith" + i % 2));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (RecordQuery.Mode mode : RecordQuery.Mode.values()) {
+            RecordQuery<Administrator> query = RecordQuery.of(Administrator.class).mode(mode, pool);
+            Map<Object, Long> counts = query.count(administrators, "secondName");
+            assertEquals(Arrays.asList(null, "Smith1", "Smith0"), new ArrayList<>(counts.keySet()), mode.name());
+            assertEquals(Long.valueOf(6667), counts.get(null), mode.name());
+            assertEquals(6667, query.groupBy(administrators, "secondName").get(null).size(), mode.name());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void allModesGiveTheSameResult() {
+        List<Sale> sales = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            sales.add(new Sale("shape" + i % 37, i % 10, i * 0.25));
+        }
+        RecordQuery<Sale> query = RecordQuery.of(Sale.class).where("amount", Integer.class, amount -> amount > 2);
+        Map<Object, List<Sale>> expected = query.groupBy(sales, "shape");
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (RecordQuery.Mode mode : RecordQuery.Mode.values()) {
+            RecordQuery<Sale> inMode = query.mode(mode, pool);
+            Map<Object, List<Sale>> groups = inMode.groupBy(sales, "shape");
+            assertEquals(expected, groups, mode.name());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(groups.keySet()), mode.name());
+            assertEquals(70_000, inMode.count(sales), mode.name());
+            assertEquals(query.summarize(sales, "shape", "price").get("shape7").getSum(),
+                    inMode.summarize(sales, "shape", "price").get("shape7").getSum(), 1e-6);
+        }
+        pool.shutdown();
+    }
+}
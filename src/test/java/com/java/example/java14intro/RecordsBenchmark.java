@@ -0,0 +1,269 @@
+package com.java.example.java14intro;
+
+import org.javatuples.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a hand-written class, a record, a javatuples Pair and a Lombok @Value class
+ * (see Records.java) on construction, equals(), hashCode(), toString() and HashMap/HashSet workloads.
+ * Records get equals/hashCode/toString from the ObjectMethods bootstrap,
+ * RecordsExample and Lombok use Objects.hash or inlined arithmetic.
+ * Run main() to get throughput together with the allocation rate reported by the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RecordsBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private String name;
+    private String shape;
+
+    private RecordsExample classInstance;
+    private RecordsExample classCopy;
+    private RecordExample recordInstance;
+    private RecordExample recordCopy;
+    private Pair<String, String> tupleInstance;
+    private Pair<String, String> tupleCopy;
+    private LombokValueExample lombokInstance;
+    private LombokValueExample lombokCopy;
+
+    private RecordsExample[] classKeys;
+    private RecordExample[] recordKeys;
+    private Pair<String, String>[] tupleKeys;
+    private LombokValueExample[] lombokKeys;
+
+    private Map<RecordsExample, Integer> classMap;
+    private Map<RecordExample, Integer> recordMap;
+    private Map<Pair<String, String>, Integer> tupleMap;
+    private Map<LombokValueExample, Integer> lombokMap;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // new String(...) so that equals() cannot short-circuit on identical component references
+        name = new String("triangle");
+        shape = new String("polygon");
+        classInstance = new RecordsExample(name, shape);
+        classCopy = new RecordsExample(new String(name), new String(shape));
+        recordInstance = new RecordExample(name, shape);
+        recordCopy = new RecordExample(new String(name), new String(shape));
+        tupleInstance = new Pair<>(name, shape);
+        tupleCopy = new Pair<>(new String(name), new String(shape));
+        lombokInstance = new LombokValueExample(name, shape);
+        lombokCopy = new LombokValueExample(new String(name), new String(shape));
+
+        classKeys = new RecordsExample[size];
+        recordKeys = new RecordExample[size];
+        tupleKeys = new Pair[size];
+        lombokKeys = new LombokValueExample[size];
+        classMap = new HashMap<>();
+        recordMap = new HashMap<>();
+        tupleMap = new HashMap<>();
+        lombokMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String keyName = "name-" + i;
+            String keyShape = "shape-" + (i % 7);
+            classMap.put(new RecordsExample(keyName, keyShape), i);
+            recordMap.put(new RecordExample(keyName, keyShape), i);
+            tupleMap.put(new Pair<>(keyName, keyShape), i);
+            lombokMap.put(new LombokValueExample(keyName, keyShape), i);
+            // lookups use equal copies, so that HashMap cannot short-circuit equals() on identical keys
+            String copyName = new String(keyName);
+            String copyShape = new String(keyShape);
+            classKeys[i] = new RecordsExample(copyName, copyShape);
+            recordKeys[i] = new RecordExample(copyName, copyShape);
+            tupleKeys[i] = new Pair<>(copyName, copyShape);
+            lombokKeys[i] = new LombokValueExample(copyName, copyShape);
+        }
+    }
+
+    /*--------------------------------- construction ----------------------------------*/
+
+    @Benchmark
+    public RecordsExample constructClass() {
+        return new RecordsExample(name, shape);
+    }
+
+    @Benchmark
+    public RecordExample constructRecord() {
+        return new RecordExample(name, shape);
+    }
+
+    @Benchmark
+    public Pair<String, String> constructTuple() {
+        return new Pair<>(name, shape);
+    }
+
+    @Benchmark
+    public LombokValueExample constructLombok() {
+        return new LombokValueExample(name, shape);
+    }
+
+    /*--------------------------------- equals ----------------------------------*/
+
+    @Benchmark
+    public boolean equalsClass() {
+        return classInstance.equals(classCopy);
+    }
+
+    @Benchmark
+    public boolean equalsRecord() {
+        return recordInstance.equals(recordCopy);
+    }
+
+    @Benchmark
+    public boolean equalsTuple() {
+        return tupleInstance.equals(tupleCopy);
+    }
+
+    @Benchmark
+    public boolean equalsLombok() {
+        return lombokInstance.equals(lombokCopy);
+    }
+
+    /*--------------------------------- hashCode ----------------------------------*/
+
+    @Benchmark
+    public int hashCodeClass() {
+        return classInstance.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeRecord() {
+        return recordInstance.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeTuple() {
+        return tupleInstance.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeLombok() {
+        return lombokInstance.hashCode();
+    }
+
+    /*--------------------------------- toString ----------------------------------*/
+
+    @Benchmark
+    public String toStringClass() {
+        return classInstance.toString();
+    }
+
+    @Benchmark
+    public String toStringRecord() {
+        return recordInstance.toString();
+    }
+
+    @Benchmark
+    public String toStringTuple() {
+        return tupleInstance.toString();
+    }
+
+    @Benchmark
+    public String toStringLombok() {
+        return lombokInstance.toString();
+    }
+
+    /*--------------------------------- HashMap lookups ----------------------------------*/
+
+    @Benchmark
+    public void hashMapGetClass(Blackhole blackhole) {
+        for (RecordsExample key : classKeys) {
+            blackhole.consume(classMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void hashMapGetRecord(Blackhole blackhole) {
+        for (RecordExample key : recordKeys) {
+            blackhole.consume(recordMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void hashMapGetTuple(Blackhole blackhole) {
+        for (Pair<String, String> key : tupleKeys) {
+            blackhole.consume(tupleMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void hashMapGetLombok(Blackhole blackhole) {
+        for (LombokValueExample key : lombokKeys) {
+            blackhole.consume(lombokMap.get(key));
+        }
+    }
+
+    /*--------------------------------- HashSet population ----------------------------------*/
+
+    @Benchmark
+    public Set<RecordsExample> hashSetAddClass() {
+        Set<RecordsExample> set = new HashSet<>();
+        for (RecordsExample key : classKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<RecordExample> hashSetAddRecord() {
+        Set<RecordExample> set = new HashSet<>();
+        for (RecordExample key : recordKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<Pair<String, String>> hashSetAddTuple() {
+        Set<Pair<String, String>> set = new HashSet<>();
+        for (Pair<String, String> key : tupleKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<LombokValueExample> hashSetAddLombok() {
+        Set<LombokValueExample> set = new HashSet<>();
+        for (LombokValueExample key : lombokKeys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
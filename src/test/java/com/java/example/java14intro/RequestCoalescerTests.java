@@ -0,0 +1,96 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTests {
+
+    @Test
+    void concurrentRequestsRunTheHandlerOnce() throws Exception {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        Future<String> first = executor.submit(() -> coalescer.get("/test", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "it works!";
+        }));
+        started.await();
+        List<Future<String>> others = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            others.add(executor.submit(() -> coalescer.get("/test", () -> "second call " + calls.incrementAndGet())));
+        }
+        while (coalescer.coalesced() < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("it works!", first.get());
+        for (Future<String> other : others) {
+            assertEquals("it works!", other.get());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, coalescer.executions());
+        executor.shutdown();
+    }
+
+    @Test
+    void resultsAreSharedWithinTheWindow() throws InterruptedException {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofMillis(50));
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("call 1", coalescer.get("/test", () -> "call " + calls.incrementAndGet()));
+        assertEquals("call 1", coalescer.get("/test", () -> "call " + calls.incrementAndGet()));
+        assertEquals("call 2", coalescer.get("/other", () -> "call " + calls.incrementAndGet()));
+        TimeUnit.MILLISECONDS.sleep(60);
+        assertEquals("call 3", coalescer.get("/test", () -> "call " + calls.incrementAndGet()));
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(Duration.ofMinutes(1));
+        assertThrows(IllegalStateException.class, () -> coalescer.get("/test", () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("it works!", coalescer.get("/test", ExampleRest::test));
+    }
+
+    @Test
+    void batchStreamsOneResultPerLogicalRequest() throws IOException {
+        BatchExampleRest rest = new BatchExampleRest(Duration.ofSeconds(1));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        rest.batch("/test\n/test\r\n\n/unknown\n/test").writeTo(output);
+
+        assertEquals("it works!\nit works!\n" + BatchExampleRest.NOT_FOUND + "\nit works!\n",
+                output.toString(StandardCharsets.UTF_8));
+        assertEquals(1, rest.coalescer().executions());
+        assertEquals(2, rest.coalescer().coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
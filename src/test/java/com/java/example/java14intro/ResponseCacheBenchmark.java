@@ -0,0 +1,35 @@
+package com.java.example.java14intro;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Loads GET /test of the classic mode with LoadGenerator with example.rest.cache.enabled=false and true,
+ * and prints the requests per second and the bytes allocated per request by the request thread (RestMetrics).
+ * Arguments: concurrent users (default 256) and measured seconds per run (default 30).
+ */
+public class ResponseCacheBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        for (boolean enabled : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = ExecutionModeLoadBenchmark.start("",
+                    "example.rest.cache.enabled=" + enabled)) {
+                URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/test");
+                String name = enabled ? "cached" : "uncached";
+                LoadGenerator.run(name, uri, users, Duration.ZERO, Duration.ofSeconds(10));
+                RestMetrics.Endpoint endpoint = context.getBean(RestMetrics.class).endpoint("GET", "/test");
+                RestMetrics.Endpoint.Snapshot before = endpoint.snapshot();
+                LoadGenerator.Result result = LoadGenerator.run(name, uri, users, Duration.ZERO, duration);
+                RestMetrics.Endpoint.Snapshot after = endpoint.snapshot();
+                long requests = after.allocations().getTotalCount() - before.allocations().getTotalCount();
+                System.out.println(result);
+                System.out.printf("%-12s allocated per request=%,d bytes%n", name,
+                        requests == 0 ? 0 : (after.allocatedSum() - before.allocatedSum()) / requests);
+            }
+        }
+    }
+}
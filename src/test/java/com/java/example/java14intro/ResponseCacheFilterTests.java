@@ -0,0 +1,158 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseCacheFilterTests {
+
+    /**
+     * Not a @Component, so it is registered only by the configuration of this test.
+     */
+    @RequestMapping("/cached")
+    @ResponseBody
+    static class CachedRest {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @CachedResponse
+        @GetMapping(value = "/ok", produces = "text/plain;charset=UTF-8")
+        public String ok() {
+            return "call " + calls.incrementAndGet();
+        }
+
+        @CachedResponse
+        @ResponseStatus(HttpStatus.ACCEPTED)
+        @GetMapping(value = "/accepted", produces = "text/plain;charset=UTF-8")
+        public String accepted() {
+            return "call " + calls.incrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class CachedRestConfiguration {
+
+        @Bean
+        CachedRest cachedRest() {
+            return new CachedRest();
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CachedRest rest;
+
+    @Autowired
+    private ResponseCacheFilter filter;
+
+    @Autowired
+    private RestMetrics metrics;
+
+    @BeforeEach
+    void clearCache() {
+        filter.cache().invalidate("/cached/ok");
+        filter.cache().invalidate("/cached/accepted");
+        filter.cache().invalidate("/test");
+    }
+
+    @Test
+    void hitSkipsTheDispatcherServlet() throws Exception {
+        MvcResult miss = mvc.perform(get("/cached/ok")).andExpect(status().isOk()).andReturn();
+        int calls = rest.calls.get();
+
+        MvcResult hit = mvc.perform(get("/cached/ok"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(content().string(miss.getResponse().getContentAsString()))
+                .andExpect(header().string("ETag", miss.getResponse().getHeader("ETag")))
+                .andReturn();
+
+        assertNotNull(miss.getHandler());
+        assertNull(hit.getHandler());
+        assertEquals(calls, rest.calls.get());
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModified() throws Exception {
+        String etag = mvc.perform(get("/cached/ok")).andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mvc.perform(get("/cached/ok").header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mvc.perform(get("/cached/ok").header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void otherStatusesAreNotCached() throws Exception {
+        String first = mvc.perform(get("/cached/accepted")).andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String second = mvc.perform(get("/cached/accepted")).andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotEquals(first, second);
+        assertNull(filter.cache().get("/cached/accepted", System.nanoTime()));
+    }
+
+    @Test
+    void requestsWithQueryStringBypassTheCache() throws Exception {
+        String first = mvc.perform(get("/cached/ok?x=1"))
+                .andReturn().getResponse().getContentAsString();
+        MvcResult second = mvc.perform(get("/cached/ok?x=1"))
+                .andExpect(header().doesNotExist("ETag"))
+                .andReturn();
+
+        assertNotNull(second.getHandler());
+        assertNotEquals(first, second.getResponse().getContentAsString());
+    }
+
+    @Test
+    void unacceptableRequestsGoToTheDispatcherServlet() throws Exception {
+        mvc.perform(get("/test")).andExpect(status().isOk());
+
+        mvc.perform(get("/test").header("Accept", "application/json"))
+                .andExpect(status().isNotAcceptable());
+        mvc.perform(get("/test").header("Accept", "text/*;q=0.9, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(content().string("it works!"));
+    }
+
+    @Test
+    void hitsAreRecordedByRestMetricsFilter() throws Exception {
+        long before = metrics.endpoint("GET", "/cached/ok").snapshot().latencies().getTotalCount();
+
+        mvc.perform(get("/cached/ok"));
+        mvc.perform(get("/cached/ok"));
+
+        assertEquals(before + 2, metrics.endpoint("GET", "/cached/ok").snapshot().latencies().getTotalCount());
+    }
+}
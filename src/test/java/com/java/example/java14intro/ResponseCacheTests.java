@@ -0,0 +1,108 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTests {
+
+    private static final byte[] BODY = "it works!".getBytes(StandardCharsets.UTF_8);
+    private static final long TTL = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void storedResponsesAreServedUntilTheyExpire() {
+        ResponseCache cache = new ResponseCache(1024);
+        assertNull(cache.get("/test", 0));
+        ResponseCache.Entry stored = cache.put("/test", "text/plain;charset=UTF-8", BODY, TTL, 0);
+
+        ResponseCache.Entry entry = cache.get("/test", TTL - 1);
+        assertSame(stored, entry);
+        assertArrayEquals(BODY, entry.body());
+        assertEquals("text/plain;charset=UTF-8", entry.contentType());
+        assertNull(cache.get("/test", TTL));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void etagIsTheQuotedDigestOfTheBody() {
+        ResponseCache cache = new ResponseCache(1024);
+        String etag = cache.put("/test", null, BODY, TTL, 0).etag();
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""), etag);
+        assertEquals(etag, cache.put("/copy", null, BODY.clone(), TTL, 0).etag());
+        assertNotEquals(etag, cache.put("/other", null, new byte[]{1}, TTL, 0).etag());
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        ResponseCache.Entry entry = new ResponseCache(1024).put("/test", null, BODY, TTL, 0);
+        String etag = entry.etag();
+        assertTrue(entry.matches(etag));
+        assertTrue(entry.matches("W/" + etag));
+        assertTrue(entry.matches("\"other\", " + etag + " "));
+        assertTrue(entry.matches("\"other\",W/" + etag));
+        assertTrue(entry.matches("*"));
+        assertFalse(entry.matches(null));
+        assertFalse(entry.matches(""));
+        assertFalse(entry.matches("\"other\""));
+        assertFalse(entry.matches(etag.substring(0, etag.length() - 1)));
+        assertFalse(entry.matches(etag + "x"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedWhenBodiesDoNotFit() {
+        ResponseCache cache = new ResponseCache(30);
+        cache.put("/a", null, new byte[10], TTL, 0);
+        cache.put("/b", null, new byte[10], TTL, 1);
+        cache.put("/c", null, new byte[10], TTL, 2);
+        assertNotNull(cache.get("/a", 3));
+
+        cache.put("/d", null, new byte[10], TTL, 4);
+
+        assertNull(cache.get("/b", 5));
+        assertNotNull(cache.get("/a", 5));
+        assertNotNull(cache.get("/c", 5));
+        assertNotNull(cache.get("/d", 5));
+        assertEquals(1, cache.evictions());
+        assertEquals(30, cache.bytes());
+    }
+
+    @Test
+    void expiredEntriesAreEvictedFirst() {
+        ResponseCache cache = new ResponseCache(20);
+        cache.put("/short", null, new byte[10], 10, 0);
+        cache.put("/long", null, new byte[10], TTL, 1);
+        cache.get("/long", 2);
+
+        cache.put("/new", null, new byte[10], TTL, 20);
+
+        assertNotNull(cache.get("/long", 21));
+        assertEquals(2, cache.size());
+        assertEquals(20, cache.bytes());
+    }
+
+    @Test
+    void oversizedBodiesAndReplacedEntriesAreAccounted() {
+        ResponseCache cache = new ResponseCache(16);
+        ResponseCache.Entry entry = cache.put("/big", null, new byte[17], TTL, 0);
+        assertEquals(17, entry.body().length);
+        assertEquals(0, cache.size());
+
+        cache.put("/test", null, new byte[8], TTL, 0);
+        cache.put("/test", null, new byte[12], TTL, 1);
+        assertEquals(12, cache.bytes());
+        cache.invalidate("/test");
+        assertEquals(0, cache.bytes());
+        assertNull(cache.get("/test", 2));
+    }
+}
@@ -0,0 +1,77 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestMetricsTests {
+
+    private final RestMetrics metrics = new RestMetrics();
+
+    @Test
+    void requestsAreRecordedPerEndpoint() {
+        metrics.begin();
+        metrics.end("GET", "/test", 200, 1_000_000, 512);
+        metrics.begin();
+        metrics.end("GET", "/test", 500, 3_000_000, -1);
+        metrics.begin();
+        metrics.end("POST", "/test", 200, 2_000_000, 128);
+
+        RestMetrics.Endpoint.Snapshot snapshot = metrics.endpoint("GET", "/test").snapshot();
+        assertEquals(2, snapshot.latencies().getTotalCount());
+        assertEquals(4_000_000, snapshot.latencySum());
+        assertEquals(1, snapshot.allocations().getTotalCount());
+        assertEquals(512, snapshot.allocatedSum());
+        assertEquals(1, snapshot.errors());
+        assertEquals(0, metrics.inFlight());
+    }
+
+    @Test
+    void snapshotsAreCumulative() {
+        metrics.end("GET", "/test", 200, 1_000, 0);
+        assertEquals(1, metrics.endpoint("GET", "/test").snapshot().latencies().getTotalCount());
+        metrics.end("GET", "/test", 200, 1_000, 0);
+        assertEquals(2, metrics.endpoint("GET", "/test").snapshot().latencies().getTotalCount());
+    }
+
+    @Test
+    void prometheusTextFormat() {
+        metrics.begin();
+        metrics.begin();
+        metrics.end("GET", "/test", 200, 1_000_000, 512);
+        String text = metrics.prometheus();
+
+        assertTrue(text.contains("# TYPE http_server_requests_seconds summary\n"), text);
+        assertTrue(text.contains("http_server_requests_seconds{method=\"GET\",uri=\"/test\",quantile=\"0.99\"} 0.001"), text);
+        assertTrue(text.contains("http_server_requests_seconds_count{method=\"GET\",uri=\"/test\"} 1\n"), text);
+        assertTrue(text.contains("http_server_requests_allocated_bytes_sum{method=\"GET\",uri=\"/test\"} 512.0\n"), text);
+        assertTrue(text.contains("http_server_requests_errors_total{method=\"GET\",uri=\"/test\"} 0\n"), text);
+        assertTrue(text.endsWith("http_server_requests_in_flight 1\n"), text);
+    }
+
+    @Test
+    void concurrentRecording() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int thread = 0; thread < 16; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.begin();
+                    metrics.end("GET", "/test", 200, i, i);
+                }
+            });
+        }
+        for (int i = 0; i < 100; i++) {
+            metrics.prometheus();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(160_000, metrics.endpoint("GET", "/test").snapshot().latencies().getTotalCount());
+        assertEquals(0, metrics.inFlight());
+    }
+}
@@ -0,0 +1,122 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and summing a million shapes: List<Shape<Integer>> and List<Shape<Double>>
+ * (a record and a boxed payload per element) versus IntShapes and DoubleShapes (one primitive array).
+ * Run with the GC profiler, gc.alloc.rate.norm is the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShapesBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<Shape<Integer>> boxedInts;
+    private List<Shape<Double>> boxedDoubles;
+    private Shapes.IntShapes ints;
+    private Shapes.DoubleShapes doubles;
+
+    @Setup
+    public void setUp() {
+        boxedInts = buildBoxedInts();
+        boxedDoubles = buildBoxedDoubles();
+        ints = buildInts();
+        doubles = buildDoubles();
+    }
+
+    @Benchmark
+    public List<Shape<Integer>> buildBoxedInts() {
+        List<Shape<Integer>> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(new Shape<>(i));
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public Shapes.IntShapes buildInts() {
+        Shapes.IntShapes shapes = new Shapes.IntShapes(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(i);
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public List<Shape<Double>> buildBoxedDoubles() {
+        List<Shape<Double>> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(new Shape<>(i * 0.5));
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public Shapes.DoubleShapes buildDoubles() {
+        Shapes.DoubleShapes shapes = new Shapes.DoubleShapes(size);
+        for (int i = 0; i < size; i++) {
+            shapes.add(i * 0.5);
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public long sumBoxedInts() {
+        long sum = 0;
+        for (Shape<Integer> shape : boxedInts) {
+            sum += shape.shape();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumInts() {
+        return ints.sum();
+    }
+
+    @Benchmark
+    public double sumBoxedDoubles() {
+        double sum = 0;
+        for (Shape<Double> shape : boxedDoubles) {
+            sum += shape.shape();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumDoubles() {
+        return doubles.sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ShapesBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShapesTests {
+
+    @Test
+    void factoryPicksSpecializationByArgumentType() {
+        assertEquals(new IntShape(3), Shapes.of(3));
+        assertEquals(new LongShape(3L), Shapes.of(3L));
+        assertEquals(new DoubleShape(0.5), Shapes.of(0.5));
+        Shape<Triangle> triangle = Shapes.of(new Triangle());
+        assertEquals("triangle", triangle.shape().shapeName);
+    }
+
+    @Test
+    void intShapes() {
+        Shapes.IntShapes shapes = new Shapes.IntShapes(1);
+        for (int i = 1; i <= 100; i++) {
+            shapes.add(i);
+        }
+        shapes.add(new IntShape(-5));
+        assertEquals(101, shapes.size());
+        assertEquals(5050 - 5, shapes.sum());
+        assertEquals(-5, shapes.min());
+        assertEquals(100, shapes.max());
+        assertEquals(new IntShape(1), shapes.get(0));
+        assertEquals(50, shapes.filter(i -> i % 2 == 0).size());
+        shapes.replaceAll(i -> i * 2);
+        assertEquals(200, shapes.getInt(99));
+        assertEquals(shapes.sum(), shapes.stream().asLongStream().sum());
+        assertThrows(IndexOutOfBoundsException.class, () -> shapes.getInt(101));
+        assertThrows(NoSuchElementException.class, () -> new Shapes.IntShapes().min());
+    }
+
+    @Test
+    void longAndDoubleShapes() {
+        Shapes.LongShapes longs = Shapes.LongShapes.of(Long.MAX_VALUE, 1, -1);
+        longs.addAll(new long[]{7, 8});
+        assertEquals(Long.MAX_VALUE, longs.max());
+        assertEquals(-1, longs.min());
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 1, -1, 7, 8}, longs.toArray());
+        assertEquals(new LongShape(7), longs.get(3));
+
+        Shapes.DoubleShapes doubles = Shapes.DoubleShapes.of(0.5, 1.5, -2.0);
+        assertEquals(0.0, doubles.sum());
+        assertEquals(-2.0, doubles.min());
+        assertEquals(2, doubles.filter(d -> d > 0).size());
+        double[] copy = new double[3];
+        int[] position = {0};
+        doubles.forEach(d -> copy[position[0]++] = d);
+        assertArrayEquals(doubles.toArray(), copy);
+    }
+}
@@ -0,0 +1,107 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One writer that keeps changing one component of a configuration graph and N readers that read it,
+ * N from 1 to 63: SnapshotRegistry versus the same graph guarded by a ReentrantReadWriteLock and by synchronized.
+ * Reader throughput should stay flat per reader for the registry, while the locks serialize readers behind the writer.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SnapshotRegistryBenchmark {
+
+    record Limits(int maxThreads, Duration timeout) {
+    }
+
+    record Config(String host, int port, Limits limits) {
+    }
+
+    private static final Config INITIAL = new Config("localhost", 8080, new Limits(200, Duration.ofSeconds(30)));
+
+    private final SnapshotRegistry<Config> registry = new SnapshotRegistry<>(INITIAL);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Config lockedConfig = INITIAL;
+    private Config synchronizedConfig = INITIAL;
+    private int writes;
+
+    @Benchmark
+    @Group("registry")
+    public SnapshotRegistry.Snapshot<Config> registryWriter() {
+        return registry.with("limits.maxThreads", ++writes & 255);
+    }
+
+    @Benchmark
+    @Group("registry")
+    public int registryReader() {
+        return registry.get().limits().maxThreads();
+    }
+
+    @Benchmark
+    @Group("readWriteLock")
+    public Config lockWriter() {
+        Config next = SnapshotRegistry.with(lockedConfig, "limits.maxThreads", ++writes & 255);
+        lock.writeLock().lock();
+        try {
+            return lockedConfig = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("readWriteLock")
+    public int lockReader() {
+        lock.readLock().lock();
+        try {
+            return lockedConfig.limits().maxThreads();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    public Config synchronizedWriter() {
+        Config next = SnapshotRegistry.with(INITIAL, "limits.maxThreads", ++writes & 255);
+        synchronized (this) {
+            return synchronizedConfig = next;
+        }
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    public synchronized int synchronizedReader() {
+        return synchronizedConfig.limits().maxThreads();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int readers : new int[]{1, 3, 7, 15, 31, 63}) {
+            new Runner(new OptionsBuilder()
+                    .include(SnapshotRegistryBenchmark.class.getSimpleName())
+                    .threadGroups(1, readers)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotRegistryTests {
+
+    record Limits(int maxThreads, Duration timeout) {
+    }
+
+    record ServerConfig(String host, int port, Limits limits, Bill bill) {
+    }
+
+    private final ServerConfig initial = new ServerConfig("localhost", 8080,
+            new Limits(200, Duration.ofSeconds(30)), new Bill("Floriańska 1"));
+
+    @Test
+    void witherCopiesOnlyThePath() {
+        ServerConfig changed = SnapshotRegistry.with(initial, "limits.timeout", Duration.ofSeconds(5));
+
+        assertEquals(Duration.ofSeconds(5), changed.limits().timeout());
+        assertEquals(200, changed.limits().maxThreads());
+        assertSame(initial.host(), changed.host());
+        assertSame(initial.bill(), changed.bill());
+        assertEquals(9090, SnapshotRegistry.with(initial, "port", 9090).port());
+        assertSame(initial, SnapshotRegistry.with(initial, "bill", initial.bill()));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotRegistry.with(initial, "limits.size", 1));
+        assertThrows(IllegalArgumentException.class, () -> SnapshotRegistry.with(initial, "host.length", 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotRegistry.with(new Person("John", "Smith"), "firstName", "Jo"));
+    }
+
+    @Test
+    void everyUpdateIsANewVersion() {
+        SnapshotRegistry<ServerConfig> registry = new SnapshotRegistry<>(initial);
+        assertEquals(1, registry.version());
+
+        SnapshotRegistry.Snapshot<ServerConfig> next = registry.with("limits.maxThreads", 16);
+        assertEquals(2, next.version());
+        assertSame(next, registry.snapshot());
+        assertEquals(16, registry.get().limits().maxThreads());
+        assertSame(initial.limits().timeout(), registry.get().limits().timeout());
+
+        registry.publish(initial);
+        assertEquals(3, registry.version());
+        assertSame(initial, registry.get());
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() throws Exception {
+        SnapshotRegistry<ServerConfig> registry = new SnapshotRegistry<>(initial);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        Future<Boolean> reader = executor.submit(() -> {
+            long lastVersion = 0;
+            while (writing.get()) {
+                SnapshotRegistry.Snapshot<ServerConfig> snapshot = registry.snapshot();
+                if (snapshot.version() < lastVersion || snapshot.value().port() != 8080 + snapshot.version() - 1) {
+                    return false;
+                }
+                lastVersion = snapshot.version();
+            }
+            return true;
+        });
+        for (int writer = 0; writer < 4; writer++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.update(config -> SnapshotRegistry.with(config, "port", config.port() + 1));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        writing.set(false);
+        assertTrue(reader.get());
+        executor.shutdown();
+
+        assertEquals(40_001, registry.version());
+        assertEquals(8080 + 40_000, registry.get().port());
+    }
+}
@@ -0,0 +1,125 @@
+package com.java.example.java14intro;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the packaged application in a fresh jvm per run and measures the time from process start
+ * to the first successful GET /test, and the resident set size of the process right after that request (Linux /proc).
+ * Modes: default, fast-startup profile, fast-startup profile with the AppCDS archive (when it was built with -Pappcds).
+ * Arguments: path to the jar (default target/java-14-intro-0.0.1-SNAPSHOT.jar) and runs per mode (default 10);
+ * run from the project directory, the archive is only accepted with the jar path it was created with.
+ */
+public class StartupBenchmark {
+
+    record Mode(String name, List<String> jvmOptions, String profile) {
+    }
+
+    record Result(String mode, long medianMillis, long minMillis, long medianRssKb) {
+
+        @Override
+        public String toString() {
+            return String.format("%-20s first request median=%,dms min=%,dms rss median=%,dkB",
+                    mode, medianMillis, minMillis, medianRssKb);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/java-14-intro-0.0.1-SNAPSHOT.jar");
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Path archive = Path.of(jar.toString().replaceFirst("\\.jar$", ".jsa"));
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", List.of(), ""));
+        modes.add(new Mode("fast-startup", List.of(), "fast-startup"));
+        if (Files.exists(archive)) {
+            modes.add(new Mode("fast-startup+appcds", List.of("-XX:SharedArchiveFile=" + archive), "fast-startup"));
+        } else {
+            System.out.println("no " + archive + ", build it with mvn package -Pappcds to measure the archive");
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            long[] rss = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long[] run = start(jar, mode);
+                millis[i] = run[0];
+                rss[i] = run[1];
+            }
+            Arrays.sort(millis);
+            Arrays.sort(rss);
+            results.add(new Result(mode.name(), millis[runs / 2], millis[0], rss[runs / 2]));
+        }
+        results.forEach(System.out::println);
+    }
+
+    /**
+     * Returns milliseconds to the first response and RSS in kilobytes.
+     */
+    private static long[] start(Path jar, Mode mode) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of("java", "--enable-preview"));
+        command.addAll(mode.jvmOptions());
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+        if (!mode.profile().isEmpty()) {
+            command.add("--spring.profiles.active=" + mode.profile());
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/test")).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    Thread.sleep(5);
+                }
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new long[]{millis, rssKb(process.pid())};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
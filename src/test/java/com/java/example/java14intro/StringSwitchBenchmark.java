@@ -0,0 +1,99 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operator lookups through a compiled String switch, StringSwitch and HashMap.
+ * The compiled switch has the 5 labels of SwitchExpressions and is compared with tables of the same 5 labels:
+ * a switch with 50k arms does not fit into the 64 KB limit of a method.
+ * Tables of 500 and 50k labels are compared with HashMap only,
+ * as javac compiles a String switch to a hashCode lookup plus equals() in the same way as HashMap does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class StringSwitchBenchmark {
+
+    private static final String[] OPERATORS = {"virgin mobile", "orange", "lynca", "vodaphone", "viking"};
+
+    @State(Scope.Thread)
+    public static class Operators {
+        private int next;
+
+        String nextKey() {
+            String key = OPERATORS[next];
+            next = next + 1 == OPERATORS.length ? 0 : next + 1;
+            return key;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Tables {
+
+        @Param({"5", "500", "50000"})
+        private int size;
+
+        private String[] keys;
+        private StringSwitch<String> table;
+        private Map<String, String> map;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            keys = new String[size];
+            map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = i < OPERATORS.length ? OPERATORS[i] : "operator-" + i;
+                map.put(keys[i], i < OPERATORS.length
+                        ? SwitchExpressions.priceOfBusinessSubscription(keys[i]) : (i % 20) + "$");
+            }
+            table = StringSwitch.of(map, "unknown cellular operator");
+        }
+
+        String nextKey() {
+            String key = keys[next];
+            next = next + 1 == keys.length ? 0 : next + 1;
+            return key;
+        }
+    }
+
+    @Benchmark
+    public String compiledSwitch(Operators operators) {
+        return SwitchExpressions.priceOfBusinessSubscription(operators.nextKey());
+    }
+
+    @Benchmark
+    public String stringSwitch(Tables tables) {
+        return tables.table.get(tables.nextKey());
+    }
+
+    @Benchmark
+    public String hashMap(Tables tables) {
+        return tables.map.getOrDefault(tables.nextKey(), "unknown cellular operator");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StringSwitchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
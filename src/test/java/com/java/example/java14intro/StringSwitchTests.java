@@ -0,0 +1,82 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringSwitchTests {
+
+    @Test
+    void operatorsAreLoadedFromConfiguration() {
+        assertEquals("15$", CellularOperators.businessPrice("orange"));
+        assertEquals("15$", CellularOperators.businessPrice("virgin mobile"));
+        assertEquals("unknown cellular operator", CellularOperators.businessPrice("t-mobile"));
+    }
+
+    @Test
+    void configurationMatchesTheCompiledSwitch() {
+        for (String operator : List.of("virgin mobile", "orange", "lynca", "vodaphone", "viking",
+                "lynca mobile", "t-mobile")) {
+            assertEquals(SwitchExpressions.priceOfBusinessSubscription(operator),
+                    CellularOperators.businessPrice(operator), operator);
+        }
+    }
+
+    @Test
+    void reloadReplacesTheTable() throws IOException {
+        try {
+            CellularOperators.reload(new StringReader("""
+                    t-mobile -> 30$
+                    default -> none
+                    """));
+            assertEquals("30$", CellularOperators.businessPrice("t-mobile"));
+            assertEquals("none", CellularOperators.businessPrice("orange"));
+        } finally {
+            byte[] configuration = CellularOperators.class.getResourceAsStream(CellularOperators.RESOURCE).readAllBytes();
+            CellularOperators.reload(new StringReader(new String(configuration, StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> parse("orange -> 1\norange -> 2\ndefault -> 0"));
+        assertThrows(IllegalArgumentException.class, () -> parse("orange -> 1"));
+        assertThrows(IllegalArgumentException.class, () -> parse("orange = 1\ndefault -> 0"));
+        assertThrows(IllegalArgumentException.class, () -> parse("default -> 1\ndefault -> 0"));
+    }
+
+    @Test
+    void everyLabelIsFoundInLargeTables() {
+        Map<String, Integer> cases = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            cases.put("operator-" + i, i);
+        }
+        // "Aa" and "BB" have the same hashCode
+        cases.put("Aa", -1);
+        cases.put("BB", -2);
+        StringSwitch<Integer> table = StringSwitch.of(cases, null);
+
+        cases.forEach((label, value) -> assertEquals(value, table.get(label)));
+        assertNull(table.get("operator-50000"));
+        assertNull(table.get("C#"));
+        assertEquals(50_002, table.size());
+    }
+
+    @Test
+    void emptyTableReturnsDefault() throws IOException {
+        assertEquals("0", parse("default -> 0").get("orange"));
+    }
+
+    private static StringSwitch<String> parse(String arms) throws IOException {
+        return StringSwitch.parse(new StringReader(arms), value -> value);
+    }
+}
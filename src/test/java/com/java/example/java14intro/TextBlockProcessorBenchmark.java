@@ -0,0 +1,85 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processing indented multi-megabyte templates (HTML with \s and \ line joins):
+ * String.stripIndent().translateEscapes() versus TextBlockProcessor, from a String and from a file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TextBlockProcessorBenchmark {
+
+    @Param({"1", "8", "32"})
+    private int megabytes;
+
+    private String template;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder text = new StringBuilder(megabytes << 20);
+        for (int row = 0; text.length() < megabytes << 20; row++) {
+            text.append("        <div class=\"row\">   \n")
+                    .append("            <span class=\"name\">trainer ").append(row).append("</span>\\s\n")
+                    .append("            <a href=\"tel:+48606949").append(row % 100).append("\">call \\\n")
+                    .append("            now</a>\\t\n")
+                    .append("\n")
+                    .append("        </div>\n");
+        }
+        template = text.append("        ").toString();
+        file = Files.createTempFile("template", ".html");
+        Files.writeString(file, template, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String jdk() {
+        return template.stripIndent().translateEscapes();
+    }
+
+    @Benchmark
+    public String processor() {
+        return TextBlockProcessor.process(template);
+    }
+
+    @Benchmark
+    public String jdkFromFile() throws IOException {
+        return Files.readString(file).stripIndent().translateEscapes();
+    }
+
+    @Benchmark
+    public String processorFromFile() throws IOException {
+        return TextBlockProcessor.process(file);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TextBlockProcessorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
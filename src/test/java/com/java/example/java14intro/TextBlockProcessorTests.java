@@ -0,0 +1,83 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextBlockProcessorTests {
+
+    @Test
+    void sameAsCompiledTextBlocks() {
+        assertEquals("""
+                <div class="information trainer">
+                	<a href="tel:+4860694915">+48 606-949-15</a>
+                </div>
+                """, TextBlockProcessor.process(
+                "        <div class=\"information trainer\">\n"
+                        + "        \t<a href=\"tel:+4860694915\">+48 606-949-15</a>\n"
+                        + "        </div>\n"
+                        + "        "));
+        assertEquals("""
+                Lorem ipsum dolor sit amet\s
+                consectetur \
+                adipiscing\telit""", TextBlockProcessor.process(
+                "    Lorem ipsum dolor sit amet\\s   \r\n"
+                        + "    consectetur \\\r"
+                        + "    adipiscing\\telit"));
+    }
+
+    @Test
+    void sameAsStripIndentAndTranslateEscapes() {
+        List<String> samples = List.of(
+                "", "\n", "\r\n", "  ", "a", "  a\n b\n", "  a\n   b\n  ", "  a\n    \n   b   \n   ",
+                "\tx\n\t\ty\r\n\t", "a\\\n  b", "a \\\n", "\\0\\12\\123\\4\\477",
+                "q\\\"\\'\\\\\\b\\f\\n\\r\\t\\s", "x \n y \n ", "line\\\\\nnext");
+        for (String sample : samples) {
+            assertEquals(sample.stripIndent().translateEscapes(), TextBlockProcessor.process(sample), sample);
+        }
+    }
+
+    @Test
+    void randomTemplates() {
+        SplittableRandom random = new SplittableRandom(14);
+        String alphabet = " \t\n\r\\abs0378n\"";
+        for (int round = 0; round < 20_000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String sample = text.toString();
+            String expected;
+            try {
+                expected = sample.stripIndent().translateEscapes();
+            } catch (IllegalArgumentException e) {
+                assertThrows(IllegalArgumentException.class, () -> TextBlockProcessor.process(sample), sample);
+                continue;
+            }
+            assertEquals(expected, TextBlockProcessor.process(sample), sample);
+        }
+    }
+
+    @Test
+    void invalidEscapes() {
+        assertThrows(IllegalArgumentException.class, () -> TextBlockProcessor.process("a\\q"));
+        assertThrows(IllegalArgumentException.class, () -> TextBlockProcessor.process("a\\"));
+    }
+
+    @Test
+    void mappedFile() throws IOException {
+        Path file = Files.createTempFile("template", ".txt");
+        String template = "    <p>zażółć\\s\n      gęślą</p>\n    ";
+        Files.writeString(file, template, StandardCharsets.UTF_8);
+        assertEquals(template.stripIndent().translateEscapes(), TextBlockProcessor.process(file));
+    }
+}
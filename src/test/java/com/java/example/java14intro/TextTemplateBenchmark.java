@@ -0,0 +1,77 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a TextBlocks-like HTML fragment with String::formatted and with a compiled TextTemplate
+ * into a new String, a reused StringBuilder and a reused direct ByteBuffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TextTemplateBenchmark {
+
+    private static final String SOCIAL_LINK = """
+            <div class="information right-side"><a href="https://www.%s.com" target="_blank"><i class="fa fa-%s" style="color: rgb(%d, 0, 0)"></i></a></div>
+            """;
+
+    private static final TextTemplate TEMPLATE = TextTemplate.compile(SOCIAL_LINK);
+
+    private final StringBuilder builder = new StringBuilder(256);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+    private final String site = "instagram";
+    private final String icon = "instagram";
+    private final int red = 255;
+
+    @Benchmark
+    public String formatted() {
+        return SOCIAL_LINK.formatted(site, icon, red);
+    }
+
+    @Benchmark
+    public String templateRender() {
+        return TEMPLATE.render(site, icon, red);
+    }
+
+    @Benchmark
+    public String cachedTemplateRender() {
+        return TextTemplate.of(SOCIAL_LINK).render(site, icon, red);
+    }
+
+    @Benchmark
+    public StringBuilder templateStringBuilder() {
+        builder.setLength(0);
+        return TEMPLATE.appendTo(builder, site, icon, red);
+    }
+
+    @Benchmark
+    public ByteBuffer templateByteBuffer() {
+        buffer.clear();
+        return TEMPLATE.encodeTo(buffer, site, icon, red);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TextTemplateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IllegalFormatConversionException;
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextTemplateTests {
+
+    private static final String TRAINER = """
+            <div class="information trainer">
+            	<a href="tel:%s"><span class="fa fa-phone" style="color: rgb(%d, 0, 0)"></span>&nbsp; %1$s</a>
+            </div>
+            100%% ready%n""";
+
+    @Test
+    void rendersTheSameAsFormatted() {
+        assertFormatted(TRAINER, "+4860694915", 255);
+        assertFormatted(TRAINER, null, -7L);
+        assertFormatted(TRAINER, "Kraków ☕", BigInteger.TEN.pow(30));
+        assertFormatted("%s %s %s", String.class, 1.5, 'c');
+        assertFormatted("%d%d", (short) 1, (byte) -2);
+        assertFormatted("no arguments");
+        assertFormatted("");
+    }
+
+    @Test
+    void encodesTheSameBytesAsFormatted() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        TextTemplate.of(TRAINER).encodeTo(buffer, "Kraków ☕ 😀", Long.MIN_VALUE).flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        assertEquals(TRAINER.formatted("Kraków ☕ 😀", Long.MIN_VALUE), new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void templatesAreCachedByEquality() {
+        assertSame(TextTemplate.of(TRAINER), TextTemplate.of(TRAINER));
+        assertSame(TextTemplate.of(TRAINER), TextTemplate.of(new String(TRAINER)));
+        for (int i = 0; i < 2 * TextTemplate.MAX_CACHED; i++) {
+            assertEquals("value " + i + ": 7", TextTemplate.of("value " + i + ": %d").render(7));
+        }
+    }
+
+    @Test
+    void argumentsMayRenderOtherTemplates() {
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return TextTemplate.of("<%s>").render("inner");
+            }
+        };
+        assertEquals("before <inner> after", TextTemplate.of("before %s after").render(nested));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        TextTemplate.of("before %s after").encodeTo(buffer, nested).flip();
+        assertEquals("before <inner> after", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void errorsMatchFormatted() {
+        assertThrows(MissingFormatArgumentException.class, () -> TextTemplate.of("%s %s").render("one"));
+        assertThrows(IllegalFormatConversionException.class, () -> TextTemplate.of("%d").render("one"));
+        assertThrows(UnknownFormatConversionException.class, () -> TextTemplate.compile("%x"));
+        assertThrows(UnknownFormatConversionException.class, () -> TextTemplate.compile("%10s"));
+    }
+
+    private static void assertFormatted(String format, Object... args) {
+        assertEquals(format.formatted(args), TextTemplate.of(format).render(args));
+        assertEquals(format.formatted(args), TextTemplate.compile(format).appendTo(new StringBuilder(), args).toString());
+    }
+}
@@ -0,0 +1,367 @@
+package com.java.example.java14intro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch over 2, 8 and 32 types: an instanceof pattern chain versus TypeDispatch.
+ * Inputs cycle through the first types of the chain, so the chain sees every one of their branches
+ * and the call sites are megamorphic. An input returns from the chain at its own branch,
+ * so one chain of 32 types measures the shorter chains as well.
+ * The chain costs grow with the position of the type in the chain, TypeDispatch stays flat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TypeDispatchBenchmark {
+
+    static final class T0 {
+        final int value = 0;
+    }
+
+    static final class T1 {
+        final int value = 1;
+    }
+
+    static final class T2 {
+        final int value = 2;
+    }
+
+    static final class T3 {
+        final int value = 3;
+    }
+
+    static final class T4 {
+        final int value = 4;
+    }
+
+    static final class T5 {
+        final int value = 5;
+    }
+
+    static final class T6 {
+        final int value = 6;
+    }
+
+    static final class T7 {
+        final int value = 7;
+    }
+
+    static final class T8 {
+        final int value = 8;
+    }
+
+    static final class T9 {
+        final int value = 9;
+    }
+
+    static final class T10 {
+        final int value = 10;
+    }
+
+    static final class T11 {
+        final int value = 11;
+    }
+
+    static final class T12 {
+        final int value = 12;
+    }
+
+    static final class T13 {
+        final int value = 13;
+    }
+
+    static final class T14 {
+        final int value = 14;
+    }
+
+    static final class T15 {
+        final int value = 15;
+    }
+
+    static final class T16 {
+        final int value = 16;
+    }
+
+    static final class T17 {
+        final int value = 17;
+    }
+
+    static final class T18 {
+        final int value = 18;
+    }
+
+    static final class T19 {
+        final int value = 19;
+    }
+
+    static final class T20 {
+        final int value = 20;
+    }
+
+    static final class T21 {
+        final int value = 21;
+    }
+
+    static final class T22 {
+        final int value = 22;
+    }
+
+    static final class T23 {
+        final int value = 23;
+    }
+
+    static final class T24 {
+        final int value = 24;
+    }
+
+    static final class T25 {
+        final int value = 25;
+    }
+
+    static final class T26 {
+        final int value = 26;
+    }
+
+    static final class T27 {
+        final int value = 27;
+    }
+
+    static final class T28 {
+        final int value = 28;
+    }
+
+    static final class T29 {
+        final int value = 29;
+    }
+
+    static final class T30 {
+        final int value = 30;
+    }
+
+    static final class T31 {
+        final int value = 31;
+    }
+
+    private static final Object[] ALL_INPUTS = {
+            new T0(),
+            new T1(),
+            new T2(),
+            new T3(),
+            new T4(),
+            new T5(),
+            new T6(),
+            new T7(),
+            new T8(),
+            new T9(),
+            new T10(),
+            new T11(),
+            new T12(),
+            new T13(),
+            new T14(),
+            new T15(),
+            new T16(),
+            new T17(),
+            new T18(),
+            new T19(),
+            new T20(),
+            new T21(),
+            new T22(),
+            new T23(),
+            new T24(),
+            new T25(),
+            new T26(),
+            new T27(),
+            new T28(),
+            new T29(),
+            new T30(),
+            new T31()
+    };
+
+    private static final TypeDispatch<Integer> DISPATCH = TypeDispatch.<Integer>builder()
+            .on(T0.class, t -> t.value)
+            .on(T1.class, t -> t.value)
+            .on(T2.class, t -> t.value)
+            .on(T3.class, t -> t.value)
+            .on(T4.class, t -> t.value)
+            .on(T5.class, t -> t.value)
+            .on(T6.class, t -> t.value)
+            .on(T7.class, t -> t.value)
+            .on(T8.class, t -> t.value)
+            .on(T9.class, t -> t.value)
+            .on(T10.class, t -> t.value)
+            .on(T11.class, t -> t.value)
+            .on(T12.class, t -> t.value)
+            .on(T13.class, t -> t.value)
+            .on(T14.class, t -> t.value)
+            .on(T15.class, t -> t.value)
+            .on(T16.class, t -> t.value)
+            .on(T17.class, t -> t.value)
+            .on(T18.class, t -> t.value)
+            .on(T19.class, t -> t.value)
+            .on(T20.class, t -> t.value)
+            .on(T21.class, t -> t.value)
+            .on(T22.class, t -> t.value)
+            .on(T23.class, t -> t.value)
+            .on(T24.class, t -> t.value)
+            .on(T25.class, t -> t.value)
+            .on(T26.class, t -> t.value)
+            .on(T27.class, t -> t.value)
+            .on(T28.class, t -> t.value)
+            .on(T29.class, t -> t.value)
+            .on(T30.class, t -> t.value)
+            .on(T31.class, t -> t.value)
+            .otherwise(x -> -1)
+            .build();
+
+    @Param({"2", "8", "32"})
+    private int types;
+
+    private Object[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        inputs = Arrays.copyOf(ALL_INPUTS, types);
+    }
+
+    private Object nextInput() {
+        Object input = inputs[next];
+        next = next + 1 == inputs.length ? 0 : next + 1;
+        return input;
+    }
+
+    @Benchmark
+    public int instanceofChain() {
+        return instanceofChain(nextInput());
+    }
+
+    @Benchmark
+    public int typeDispatch() {
+        return DISPATCH.apply(nextInput());
+    }
+
+    private static int instanceofChain(Object x) {
+        if (x instanceof T0 t) {
+            return t.value;
+        }
+        if (x instanceof T1 t) {
+            return t.value;
+        }
+        if (x instanceof T2 t) {
+            return t.value;
+        }
+        if (x instanceof T3 t) {
+            return t.value;
+        }
+        if (x instanceof T4 t) {
+            return t.value;
+        }
+        if (x instanceof T5 t) {
+            return t.value;
+        }
+        if (x instanceof T6 t) {
+            return t.value;
+        }
+        if (x instanceof T7 t) {
+            return t.value;
+        }
+        if (x instanceof T8 t) {
+            return t.value;
+        }
+        if (x instanceof T9 t) {
+            return t.value;
+        }
+        if (x instanceof T10 t) {
+            return t.value;
+        }
+        if (x instanceof T11 t) {
+            return t.value;
+        }
+        if (x instanceof T12 t) {
+            return t.value;
+        }
+        if (x instanceof T13 t) {
+            return t.value;
+        }
+        if (x instanceof T14 t) {
+            return t.value;
+        }
+        if (x instanceof T15 t) {
+            return t.value;
+        }
+        if (x instanceof T16 t) {
+            return t.value;
+        }
+        if (x instanceof T17 t) {
+            return t.value;
+        }
+        if (x instanceof T18 t) {
+            return t.value;
+        }
+        if (x instanceof T19 t) {
+            return t.value;
+        }
+        if (x instanceof T20 t) {
+            return t.value;
+        }
+        if (x instanceof T21 t) {
+            return t.value;
+        }
+        if (x instanceof T22 t) {
+            return t.value;
+        }
+        if (x instanceof T23 t) {
+            return t.value;
+        }
+        if (x instanceof T24 t) {
+            return t.value;
+        }
+        if (x instanceof T25 t) {
+            return t.value;
+        }
+        if (x instanceof T26 t) {
+            return t.value;
+        }
+        if (x instanceof T27 t) {
+            return t.value;
+        }
+        if (x instanceof T28 t) {
+            return t.value;
+        }
+        if (x instanceof T29 t) {
+            return t.value;
+        }
+        if (x instanceof T30 t) {
+            return t.value;
+        }
+        if (x instanceof T31 t) {
+            return t.value;
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TypeDispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
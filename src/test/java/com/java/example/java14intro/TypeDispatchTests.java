@@ -0,0 +1,45 @@
+package com.java.example.java14intro;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TypeDispatchTests {
+
+    private final TypeDispatch<String> dispatch = TypeDispatch.<String>builder()
+            .on(String.class, address -> address.length() < 20 ? "short" : "long")
+            .on(Integer.class, number -> "integer " + number)
+            .on(Number.class, number -> "number")
+            .on(CharSequence.class, text -> "text")
+            .on(Record.class, record -> "record " + record)
+            .otherwise(x -> "")
+            .build();
+
+    @Test
+    void handlersAreMatchedInRegistrationOrder() {
+        assertEquals("short", dispatch.apply("Floriańska 1"));
+        assertEquals("integer 7", dispatch.apply(7));
+        assertEquals("number", dispatch.apply(7L));
+        assertEquals("text", dispatch.apply(new StringBuilder("Floriańska 1")));
+        assertEquals("record Base[]", dispatch.apply(new Base()));
+    }
+
+    @Test
+    void unknownTypesAndNullGoToFallback() {
+        assertEquals("", dispatch.apply(new ArrayList<>()));
+        assertEquals("", dispatch.apply(null));
+        assertThrows(IllegalArgumentException.class, () -> TypeDispatch.<String>builder().build().apply(List.of()));
+    }
+
+    @Test
+    void resolutionIsCachedPerClass() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("integer " + i, dispatch.apply(i));
+            assertEquals("long", dispatch.apply("Kraków, Floriańska 1, apartment 12"));
+        }
+    }
+}